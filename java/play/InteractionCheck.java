@@ -0,0 +1,315 @@
+package play;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import play.game.areagame.Area;
+import play.game.areagame.actor.AreaEntity;
+import play.game.areagame.actor.Interactable;
+import play.game.areagame.actor.Interactor;
+import play.game.areagame.actor.MovableAreaEntity;
+import play.game.areagame.actor.Orientation;
+import play.game.areagame.handler.AreaInteractionVisitor;
+import play.game.arpg.ARPGBehavior;
+import play.io.CachingFileSystem;
+import play.io.DefaultFileSystem;
+import play.io.FileSystem;
+import play.io.ResourceFileSystem;
+import play.math.DiscreteCoordinates;
+import play.window.Canvas;
+import play.window.Window;
+import play.window.headless.HeadlessWindow;
+
+/**
+ * Entry point checking that the parallel interaction phase of an area gives the same result as the sequential one.
+ * Two copies of a crowded area, one per path, are simulated side by side from the same seed:
+ * after each step, the walkers (position, orientation, interactions seen), the markers they drop and pick up,
+ * and the cells taken are compared. Exits with status 1 at the first difference.
+ */
+public class InteractionCheck {
+
+	/** Number of simulated steps by default */
+	private static final int DEFAULT_STEPS = 500;
+	/** Number of walkers, above the threshold of the parallel interaction phase */
+	private static final int WALKERS = 64;
+	/** Behavior of the checked area */
+	private static final String BEHAVIOR = "zelda/Village";
+	/** Time step, in seconds */
+	private static final float DELTA_TIME = 1.0f / 24;
+
+	/**
+	 * Main entry point.
+	 * @param args (Array of String): optional number of simulated steps, then optional seed
+	 */
+	public static void main(String[] args) {
+		final int steps = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STEPS;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+		final FileSystem fileSystem = new CachingFileSystem(new ResourceFileSystem(DefaultFileSystem.INSTANCE));
+		final HeadlessWindow window = new HeadlessWindow(fileSystem, 550, 550);
+		try {
+			final CheckArea sequential = new CheckArea(false);
+			final CheckArea parallel = new CheckArea(true);
+			sequential.begin(window, fileSystem);
+			parallel.begin(window, fileSystem);
+			sequential.populate(seed);
+			parallel.populate(seed);
+
+			for (int step = 0; step < steps; ++step) {
+				sequential.simulate(DELTA_TIME);
+				parallel.simulate(DELTA_TIME);
+				final String expected = sequential.snapshot();
+				final String actual = parallel.snapshot();
+				if (!expected.equals(actual)) {
+					System.out.println("Parallel interactions differ at step " + step);
+					System.out.println("sequential: " + expected);
+					System.out.println("parallel:   " + actual);
+					System.exit(1);
+				}
+			}
+			System.out.println(steps + " steps of " + WALKERS + " walkers: parallel and sequential interactions agree, "
+				+ sequential.getActors(Marker.class).size() + " markers left");
+		} finally {
+			window.dispose();
+		}
+	}
+
+	/**
+	 * Area of the check, crowded with walkers
+	 */
+	private static final class CheckArea extends Area {
+
+		private final boolean parallel;
+
+		/**
+		 * @param parallel (boolean): true to enable the parallel interaction phase
+		 */
+		CheckArea(boolean parallel) {
+			this.parallel = parallel;
+		}
+
+		/**
+		 * Register walkers on free walkable cells, scattered from the given seed
+		 * @param seed (long): seed of the positions and of the walkers moves
+		 */
+		void populate(long seed) {
+			final Random random = new Random(seed);
+			int count = 0;
+			while (count < WALKERS) {
+				final DiscreteCoordinates position = new DiscreteCoordinates(random.nextInt(getWidth()), random.nextInt(getHeight()));
+				final Walker walker = new Walker(this, position, count, random.nextLong());
+				if (canEnterAreaCells(walker, walker.getCurrentCells()) && getActorsAt(position) == 0) {
+					registerActor(walker);
+					++count;
+				}
+			}
+		}
+
+		/**
+		 * @param position (DiscreteCoordinates): a cell, not null
+		 * @return (int): number of walkers registered on this cell
+		 */
+		private int getActorsAt(DiscreteCoordinates position) {
+			int count = 0;
+			for (Walker walker : getActors(Walker.class)) {
+				if (walker.getCurrentCells().contains(position))
+					++count;
+			}
+			return count;
+		}
+
+		/** @return (String): state of the walkers, markers and cells, comparable between the two areas */
+		String snapshot() {
+			final StringBuilder builder = new StringBuilder();
+			for (Walker walker : getActors(Walker.class))
+				builder.append(walker).append(' ');
+			// Markers in registration order, which the order of the deferred commands decides
+			builder.append(getActors(Marker.class)).append(" cells ");
+
+			// Cells which a walker could enter, depending on the cell space taken
+			final Walker probe = new Walker(this, DiscreteCoordinates.ORIGIN, -1, 0);
+			for (int y = 0; y < getHeight(); ++y) {
+				for (int x = 0; x < getWidth(); ++x)
+					builder.append(canEnterAreaCells(probe, Collections.singletonList(getCoordinates(x, y))) ? '.' : '#');
+			}
+			return builder.toString();
+		}
+
+		@Override
+		public boolean begin(Window window, FileSystem fileSystem) {
+			if (super.begin(window, fileSystem)) {
+				setBehavior(new ARPGBehavior(window, getTitle()));
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public String getTitle() {
+			return BEHAVIOR;
+		}
+
+		@Override
+		public float getCameraScaleFactor() {
+			// Large enough for all the walkers to be active
+			return 100;
+		}
+
+		@Override
+		protected boolean isParallelInteractionEnabled() {
+			return parallel;
+		}
+	}
+
+	/**
+	 * Walker moving at random from its own seed, dropping markers and picking up the ones in front of it
+	 */
+	private static final class Walker extends MovableAreaEntity implements Interactor {
+
+		/** Frames per move */
+		private static final int MOVE_DURATION = 4;
+		/** A marker is dropped every DROP_PERIOD interactions */
+		private static final int DROP_PERIOD = 7;
+
+		private final int index;
+		private final Random random;
+		/// Hash of the interactions seen, in order, and their number
+		private long seen;
+		private int interactions;
+
+		/**
+		 * @param area (Area): owner area, not null
+		 * @param position (DiscreteCoordinates): initial cell, not null
+		 * @param index (int): index of the walker, identifying it in the snapshots
+		 * @param seed (long): seed of its moves
+		 */
+		Walker(Area area, DiscreteCoordinates position, int index, long seed) {
+			super(area, Orientation.DOWN, position);
+			this.index = index;
+			this.random = new Random(seed);
+		}
+
+		@Override
+		public void update(float deltaTime) {
+			if (!isDisplacementOccurs()) {
+				orientate(Orientation.fromInt(random.nextInt(4)));
+				move(MOVE_DURATION);
+			}
+			super.update(deltaTime);
+		}
+
+		@Override
+		public void interactWith(Interactable other) {
+			seen = 31 * seen + (other instanceof Walker ? ((Walker) other).index : other.getCurrentCells().hashCode());
+			if (++interactions % DROP_PERIOD == 0) {
+				getOwnerArea().registerActor(new Marker(getOwnerArea(), getCurrentMainCellCoordinates()));
+			} else if (other instanceof Marker && !((Marker) other).picked && !getCurrentCells().equals(other.getCurrentCells())) {
+				((Marker) other).picked = true;
+				getOwnerArea().unregisterActor((Marker) other);
+			}
+		}
+
+		@Override
+		public List<DiscreteCoordinates> getCurrentCells() {
+			return Collections.singletonList(getCurrentMainCellCoordinates());
+		}
+
+		@Override
+		public List<DiscreteCoordinates> getFieldOfViewCells() {
+			return Collections.singletonList(getCurrentMainCellCoordinates().jump(getOrientation().toVector()));
+		}
+
+		@Override
+		public boolean wantsCellInteraction() {
+			return true;
+		}
+
+		@Override
+		public boolean wantsViewInteraction() {
+			return true;
+		}
+
+		@Override
+		public boolean takeCellSpace() {
+			return true;
+		}
+
+		@Override
+		public boolean isCellInteractable() {
+			return true;
+		}
+
+		@Override
+		public boolean isViewInteractable() {
+			return true;
+		}
+
+		@Override
+		public void acceptInteraction(AreaInteractionVisitor v) {
+			// Interactions are resolved by the walkers themselves
+		}
+
+		@Override
+		public void draw(Canvas canvas) {
+			// Never drawn
+		}
+
+		@Override
+		public String toString() {
+			return index + "@" + getPosition() + getOrientation() + ":" + seen;
+		}
+	}
+
+	/**
+	 * Marker dropped by a walker, not taking the cell space
+	 */
+	private static final class Marker extends AreaEntity {
+
+		/// Whether a walker picked it up already
+		private boolean picked;
+
+		/**
+		 * @param area (Area): owner area, not null
+		 * @param position (DiscreteCoordinates): cell of the marker, not null
+		 */
+		Marker(Area area, DiscreteCoordinates position) {
+			super(area, Orientation.DOWN, position);
+		}
+
+		@Override
+		public List<DiscreteCoordinates> getCurrentCells() {
+			return Collections.singletonList(getCurrentMainCellCoordinates());
+		}
+
+		@Override
+		public boolean takeCellSpace() {
+			return false;
+		}
+
+		@Override
+		public boolean isCellInteractable() {
+			return true;
+		}
+
+		@Override
+		public boolean isViewInteractable() {
+			return true;
+		}
+
+		@Override
+		public void acceptInteraction(AreaInteractionVisitor v) {
+			// Interactions are resolved by the walkers
+		}
+
+		@Override
+		public void draw(Canvas canvas) {
+			// Never drawn
+		}
+
+		@Override
+		public String toString() {
+			return getCurrentMainCellCoordinates().toString();
+		}
+	}
+}
@@ -2,11 +2,13 @@ package play;
 
 import play.game.Game;
 import play.game.arpg.ARPG;
+import play.io.CachingFileSystem;
 import play.io.DefaultFileSystem;
 import play.io.FileSystem;
 import play.io.ResourceFileSystem;
 import play.io.XMLTexts;
 import play.window.Window;
+import play.window.swing.RenderingQuality;
 import play.window.swing.SwingWindow;
 
 /**
@@ -19,12 +21,22 @@ public class Play {
 
 	/**
 	 * Main entry point.
-	 * @param args (Array of String): ignored
+	 * @param args (Array of String): optional rendering quality profile, e.g. "pixel-perfect", "balanced" or "quality"
 	 */
 	public static void main(String[] args) {
 
-		// Define cascading file system
-		final FileSystem fileSystem = new ResourceFileSystem(DefaultFileSystem.INSTANCE);
+		// Select the rendering quality profile before anything is loaded
+		final RenderingQuality quality;
+		try {
+			quality = RenderingQuality.of(args.length > 0 ? args[0] : null, RenderingQuality.BALANCED);
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			System.out.println("Usage: Play [" + qualityNames() + "]");
+			return;
+		}
+
+		// Define cascading file system, remembering where each file is found
+		final FileSystem fileSystem = new CachingFileSystem(new ResourceFileSystem(DefaultFileSystem.INSTANCE));
 
         // Create a demo game and initialize corresponding texts
 		XMLTexts.initialize(fileSystem, "strings/icmon_fr.xml");
@@ -32,40 +44,56 @@ public class Play {
         final Game game = new ARPG();
 
 		// Use Swing display
-		final Window window = new SwingWindow(game.getTitle(), fileSystem, 550, 550);
+		final Window window = new SwingWindow(game.getTitle(), fileSystem, 550, 550, quality);
 
 		try {
 
 			if (game.begin(window, fileSystem)) {
 
 				// Use system clock to keep track of time progression
-                long currentTime = System.nanoTime();
-				long lastTime;
-				final float frameDuration = ONE_SEC / game.getFrameRate();
+				// The game is updated with a fixed time step, the late time being accumulated
+				final long stepDuration = (long) (ONE_SEC / game.getFrameRate());
+				final float deltaTime = stepDuration / ONE_SEC;
+				final int maxCatchUpSteps = Math.max(1, game.getMaxCatchUpSteps());
+				long lastTime = System.nanoTime();
+				long accumulator = 0;
 
 				// Run until the user try to close the window
 				while (!window.isCloseRequested()) {
 
-					// Compute time interval
-                    lastTime = currentTime;
-                    currentTime = System.nanoTime();
-					float deltaTime = (currentTime - lastTime);
-
-                    try {
-                        int timeDiff = Math.max(0, (int) (frameDuration - deltaTime));
-                        Thread.sleep((int) (timeDiff / 1E6), (int) (timeDiff % 1E6));
-                    } catch (InterruptedException e) {
-                        System.out.println("Thread sleep interrupted");
-                    }
-
-                    currentTime = System.nanoTime();
-                    deltaTime = (currentTime - lastTime) / ONE_SEC;
-
-                    // Let the game do its stuff
-                    game.update(deltaTime);
-
-                    // Render and update input
-                    window.update();
+					// Accumulate the elapsed time
+					long currentTime = System.nanoTime();
+					accumulator += currentTime - lastTime;
+					lastTime = currentTime;
+
+					// Wait for the next step if none is due
+					if (accumulator < stepDuration) {
+						try {
+							long timeDiff = stepDuration - accumulator;
+							Thread.sleep(timeDiff / 1000000, (int) (timeDiff % 1000000));
+						} catch (InterruptedException e) {
+							System.out.println("Thread sleep interrupted");
+						}
+						continue;
+					}
+
+					// Let the game do its stuff, catching up if late
+					int steps = 0;
+					while (accumulator >= stepDuration && steps < maxCatchUpSteps) {
+						if (steps > 0)
+							window.pollInput();
+						game.update(deltaTime);
+						accumulator -= stepDuration;
+						++steps;
+					}
+
+					// Too late to catch up: drop the remaining time instead of spiraling
+					if (accumulator >= stepDuration)
+						accumulator %= stepDuration;
+
+					// Render and update input
+					game.draw(window);
+					window.update();
 				}
 			}
 			game.end();
@@ -76,4 +104,15 @@ public class Play {
 		}
 	}
 
+	/** @return (String): names of the rendering quality profiles, separated by bars */
+	private static String qualityNames() {
+		final StringBuilder names = new StringBuilder();
+		for (RenderingQuality quality : RenderingQuality.values()) {
+			if (names.length() > 0)
+				names.append('|');
+			names.append(quality.getName());
+		}
+		return names.toString();
+	}
+
 }
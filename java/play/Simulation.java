@@ -0,0 +1,65 @@
+package play;
+
+import play.game.Game;
+import play.game.arpg.ARPG;
+import play.io.CachingFileSystem;
+import play.io.DefaultFileSystem;
+import play.io.ResourceFileSystem;
+import play.io.XMLTexts;
+import play.window.headless.HeadlessWindow;
+
+/**
+ * Entry point running the game without display, as fast as possible: for simulations, soak tests and benchmarks.
+ */
+public class Simulation {
+
+	/** One second in nano second */
+	private static final float ONE_SEC = 1E9f;
+	/** Number of simulated steps by default, one minute of game at 24 frames per second */
+	private static final long DEFAULT_STEPS = 1440;
+
+	/**
+	 * Main entry point.
+	 * @param args (Array of String): optional number of simulated steps
+	 */
+	public static void main(String[] args) {
+
+		final long steps = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_STEPS;
+
+		// Define cascading file system, remembering where each file is found
+		final CachingFileSystem fileSystem = new CachingFileSystem(new ResourceFileSystem(DefaultFileSystem.INSTANCE));
+		XMLTexts.initialize(fileSystem, "strings/icmon_fr.xml");
+
+		final Game game = new ARPG();
+		final HeadlessWindow window = new HeadlessWindow(fileSystem, 550, 550);
+
+		try {
+			if (game.begin(window, fileSystem)) {
+
+				// Fixed time step, without waiting between steps
+				final float deltaTime = 1.0f / game.getFrameRate();
+				final long start = System.nanoTime();
+				long step = 0;
+				while (step < steps && !window.isCloseRequested()) {
+					game.update(deltaTime);
+					game.draw(window);
+					window.update();
+					++step;
+				}
+				final float elapsed = (System.nanoTime() - start) / ONE_SEC;
+
+				System.out.println(step + " steps simulated in " + elapsed + " s, "
+					+ (step / elapsed) + " steps per second");
+				System.out.println(window.getDrawnImagesCount() + " images, " + window.getDrawnShapesCount() + " shapes and "
+					+ window.getDrawnTextsCount() + " texts drawn");
+				for (int i = 0; i < fileSystem.getBackendCount(); ++i)
+					System.out.println("File system backend " + i + ": " + fileSystem.getStatistics(i));
+				System.out.println(fileSystem.getCachedMisses() + " reads of missing files answered by the cache");
+			}
+			game.end();
+
+		} finally {
+			window.dispose();
+		}
+	}
+}
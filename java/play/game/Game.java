@@ -1,11 +1,24 @@
 package play.game;
 
-public interface Game extends Playable{
+import play.game.actor.Graphics;
+
+public interface Game extends Playable, Graphics {
     /**
      * Getter for the game frame rate
+     * Note: the game is updated with a fixed time step of one frame
      * @return (int): the desired number of frame per second
      */
     default int getFrameRate() {
     	return 24;
     }
+
+    /**
+     * Getter for the maximal number of updates done before rendering a frame
+     * when the simulation is late. Beyond this number, the late time is dropped
+     * and the game slows down instead of freezing the display
+     * @return (int): the maximal catch-up updates per rendered frame, at least 1
+     */
+    default int getMaxCatchUpSteps() {
+    	return 5;
+    }
 }
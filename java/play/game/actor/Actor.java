@@ -20,4 +20,23 @@ public interface Actor extends Updatable, Graphics, Acoustics, Positionable {
     default void bip(Audio audio){
         // by default no sound is beeped for actor
     }
+
+    /**
+     * Getter for the box bounding what this actor draws, relative to its position
+     * Used by the owner to skip drawing the actor when the box is out of the view.
+     * The returned array may be shared and must not be modified
+     * @return (float[]): {xMin, yMin, xMax, yMax}, null if unknown: the actor is then always drawn
+     */
+    default float[] getBoundingBox(){
+        return null;
+    }
+
+    /**
+     * Indicate if this actor may be updated at a reduced rate, or not at all, when far from the view
+     * By default, only the actors with a known bounding box are considered located in their area
+     * @return (boolean): true if the actor can be put to sleep
+     */
+    default boolean canSleep(){
+        return getBoundingBox() != null;
+    }
 }
@@ -7,12 +7,16 @@ import play.math.Vector;
 import play.window.Canvas;
 import play.window.Image;
 
+import java.util.Collection;
 
 /**
  * Contains information to render a single image, which can be attached to any positionable.
  */
 public class ImageGraphics extends Node implements Graphics {
 
+    /// Receives the names of the images created by each thread, while recording (e.g. while an area creates its actors)
+    private static final ThreadLocal<Collection<String>> recordedNames = new ThreadLocal<>();
+
     /// Region of interest as a rectangle in the image
     private final RegionOfInterest roi;
     /// Image name
@@ -27,6 +31,8 @@ public class ImageGraphics extends Node implements Graphics {
     private float depth;
     ///
     private final boolean removeBackground;
+    /// Indicate if the image never changes, allowing the canvas to cache its rendering
+    private boolean isStatic;
 
     /**
      * Creates a new image graphics.
@@ -48,6 +54,7 @@ public class ImageGraphics extends Node implements Graphics {
         this.alpha = alpha;
         this.depth = depth;
         this.removeBackground = removeBackground;
+        record();
     }
 
     /**
@@ -116,6 +123,26 @@ public class ImageGraphics extends Node implements Graphics {
      */
     public void setName(String name) {
         this.name = name;
+        record();
+    }
+
+    /**
+     * Record the names of the images created or renamed by the current thread, until stopped
+     * @param names (Collection of String): receives the full names of the images, null to stop recording
+     */
+    public static void recordNames(Collection<String> names) {
+        if (names == null)
+            recordedNames.remove();
+        else
+            recordedNames.set(names);
+    }
+
+    /** Add the name of this image to the names recorded by the current thread, if recording */
+    private void record() {
+        Collection<String> names = recordedNames.get();
+        // Images without background have their own copy, not a shared sheet worth preloading
+        if (names != null && name != null && !removeBackground)
+            names.add(name);
     }
 
     /** @return (String): image name, may be null */
@@ -187,6 +214,14 @@ public class ImageGraphics extends Node implements Graphics {
     public float getDepth() {
         return depth;
     }
+
+    /**
+     * Sets if the image does not change from frame to frame, i.e. neither its properties nor its parent position
+     * @param isStatic (boolean): true to let the canvas cache its rendering
+     */
+    public void setStatic(boolean isStatic) {
+        this.isStatic = isStatic;
+    }
     
     @Override
     public void draw(Canvas canvas) {
@@ -194,6 +229,9 @@ public class ImageGraphics extends Node implements Graphics {
             return;
         Image image = canvas.getImage(name, roi, removeBackground);
         Transform transform = Transform.I.scaled(width, height).translated(anchor.x, anchor.y).transformed(getTransform());
-        canvas.drawImage(image, transform, alpha, depth);
+        if (isStatic)
+            canvas.drawStaticImage(image, transform, alpha, depth);
+        else
+            canvas.drawImage(image, transform, alpha, depth);
     }
 }
@@ -2,26 +2,40 @@ package play.game.areagame;
 
 import play.game.Playable;
 import play.game.actor.Actor;
+import play.game.actor.Graphics;
+import play.game.actor.ImageGraphics;
 import play.game.areagame.actor.Interactable;
 import play.game.areagame.actor.Interactor;
+import play.game.areagame.io.ResourcePath;
 import play.io.FileSystem;
 import play.math.DiscreteCoordinates;
 import play.math.Transform;
 import play.math.Vector;
+import play.window.Button;
+import play.window.Canvas;
 import play.window.Keyboard;
 import play.window.Mouse;
 import play.window.Window;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 
 /**
  * Area is a "Part" of the AreaGame. An Area is made of a Behavior, and a List of Actors
  */
-public abstract class Area implements Playable {
+public abstract class Area implements Playable, Graphics {
 
     // Context objects
     private Window window;
@@ -29,6 +43,44 @@ public abstract class Area implements Playable {
     // Camera Parameter
     private Actor viewCandidate;
     private Vector viewCenter;
+    /// Number of actors skipped by the last draw because out of the view
+    private int culledActors;
+    /// Inputs of the areas simulated in background: all buttons released
+    private static final Button RELEASED = new Button(false);
+    private static final Keyboard NO_KEYBOARD = code -> RELEASED;
+    private static final Mouse NO_MOUSE = new Mouse() {
+        @Override
+        public Button getButton(int index) {
+            return RELEASED;
+        }
+
+        @Override
+        public Vector getPosition() {
+            return Vector.ZERO;
+        }
+
+        @Override
+        public Vector getVelocity() {
+            return Vector.ZERO;
+        }
+    };
+    /// Indicate if the area is simulated in background
+    private boolean background;
+    /// Minimal number of interactors for the parallel interaction phase to be worth it
+    private static final int PARALLEL_INTERACTION_THRESHOLD = 32;
+    /// Commands deferred by the interactor processed by the current thread during a parallel interaction phase
+    private final ThreadLocal<List<Runnable>> deferredCommands = new ThreadLocal<>();
+    /// Activity levels of the actors, depending on their distance to the view center
+    private static final int ACTIVE = 0, REDUCED = 1, DORMANT = 2;
+    /// Actors at a reduced activity level are updated once every REDUCED_UPDATE_PERIOD ticks
+    private static final int REDUCED_UPDATE_PERIOD = 4;
+    /// Number of updates since the area began
+    private int ticks;
+    /// Phase of the reduced updates of each actor, from its registration order, and the number of actors added since the area began
+    private Map<Actor, Integer> updatePhases;
+    private int addedActors;
+    /// Number of actors updated every tick, at a reduced rate and not at all by the last update
+    private int activeActors, reducedActors, dormantActors;
     /// List of Actors inside the area
     private List<Actor> actors;
     /// List of Actors we want to register/unregistered from the area for next update iteration
@@ -36,6 +88,7 @@ public abstract class Area implements Playable {
     private List<Actor> unregisteredActors;
     /// Sublist of actor (interactors) inside the area
     private List<Interactor> interactors;
+    /// Cell changes requested since the last update, applied in request order for reproducible cell contents
     private Map<Interactable, List<DiscreteCoordinates>> interactablesToEnter;
     private Map<Interactable, List<DiscreteCoordinates>> interactablesToLeave;
     /// The behavior Map
@@ -43,12 +96,40 @@ public abstract class Area implements Playable {
     /// pause mechanics and menu to display. May be null
     /// - start indicate if area already begins, paused indicate if we display the pause menu
     private boolean started;//, paused;
+    /// Number of first drawn frames whose requested images are recorded, to be preloaded
+    private static final int RECORDED_FRAMES = 60;
+    /// Images requested by the actors during the first drawn frames, and the number of frames drawn
+    private final Set<String> drawnImages = new LinkedHashSet<>();
+    private final ImageRecorder imageRecorder = new ImageRecorder(drawnImages);
+    private int drawnFrames;
+    /// Images created by the actors when the area began, known before it is first drawn
+    private final Set<String> createdImages = new LinkedHashSet<>();
 
 
 
     /** @return (float): camera scale factor, assume it is the same in x and y direction */
     public abstract float getCameraScaleFactor();
 
+    /**
+     * Indicate if the interactions may be realized on several threads when there are many interactors
+     * Can be overridden, disabled by default. Interactions must then only act on what they reach
+     * or through the area registration methods
+     * @return (boolean): true to enable the parallel interaction phase
+     */
+    protected boolean isParallelInteractionEnabled(){
+        return false;
+    }
+
+    /** @return (float): distance to the view center under which actors are updated every tick */
+    protected float getActiveRadius(){
+        return getCameraScaleFactor()/2 + 2;
+    }
+
+    /** @return (float): distance to the view center beyond which sleeping actors are not updated at all */
+    protected float getDormantRadius(){
+        return getCameraScaleFactor();
+    }
+
     /**
      * Setter for the Behavior of this Area
      * Please call this method in the begin method of every subclass
@@ -83,6 +164,8 @@ public abstract class Area implements Playable {
         if(a instanceof Interactable)
             errorHappen = errorHappen || !enterAreaCells(((Interactable) a), ((Interactable) a).getCurrentCells());
         errorHappen = errorHappen || !actors.add(a);
+        // Reproducible from a run to another, unlike the identity hash codes
+        updatePhases.putIfAbsent(a, addedActors++ % REDUCED_UPDATE_PERIOD);
 
         if(errorHappen && !safeMode) {
             System.out.println("Actor " + a + " cannot be completely added, so remove it from where it was");
@@ -106,6 +189,7 @@ public abstract class Area implements Playable {
         if(a instanceof Interactable)
             errorHappen = errorHappen || !leaveAreaCells(((Interactable) a), ((Interactable) a).getCurrentCells());
         errorHappen = errorHappen || !actors.remove(a);
+        updatePhases.remove(a);
 
         if(errorHappen && !safeMode) {
             System.out.println("Actor " + a + " cannot be completely removed, so add it from where it was");
@@ -121,6 +205,8 @@ public abstract class Area implements Playable {
      */
     public final boolean registerActor(Actor a){
         //  finer Area strategies can be implemented here if wanted
+        if(defer(() -> registeredActors.add(a)))
+            return true;
         return registeredActors.add(a);
     }
 
@@ -131,6 +217,8 @@ public abstract class Area implements Playable {
      */
     public final boolean unregisterActor(Actor a){
         // finer Area strategies can be implemented here if wanted
+        if(defer(() -> unregisteredActors.add(a)))
+            return true;
         return unregisteredActors.add(a);
     }
 
@@ -144,6 +232,96 @@ public abstract class Area implements Playable {
     }
 
 
+    /**
+     * Compute the activity level of the given actor from its distance to the view center
+     * @param actor (Actor): the actor, not null
+     * @return (int): ACTIVE, REDUCED or DORMANT
+     */
+    private int activityOf(Actor actor){
+        if (!actor.canSleep()) {
+            return ACTIVE;
+        }
+        Vector position = actor.getPosition();
+        float distance = Math.max(Math.abs(position.x - viewCenter.x), Math.abs(position.y - viewCenter.y));
+        if (distance <= getActiveRadius()) {
+            return ACTIVE;
+        }
+        return (distance <= getDormantRadius()) ? REDUCED : DORMANT;
+    }
+
+    /**
+     * Getter for the number of actors updated every tick by the last update
+     * @return (int): the number of active actors
+     */
+    public int getActiveActorsCount(){
+        return activeActors;
+    }
+
+    /**
+     * Getter for the number of actors updated at a reduced rate by the last update
+     * @return (int): the number of actors at reduced activity
+     */
+    public int getReducedActorsCount(){
+        return reducedActors;
+    }
+
+    /**
+     * Getter for the number of actors not updated by the last update because far from the view
+     * @return (int): the number of dormant actors
+     */
+    public int getDormantActorsCount(){
+        return dormantActors;
+    }
+
+    /**
+     * Getter for the number of actors skipped by the last draw because out of the view
+     * @return (int): the number of culled actors
+     */
+    public int getCulledActorsCount(){
+        return culledActors;
+    }
+
+    /**
+     * Getter for the images this area needs: its background, foreground and behavior,
+     * the images created by its actors when it began, if it already did,
+     * then the images requested by its actors when it was first drawn, if it already was
+     * @return (List of String): full names of the images, not null
+     */
+    public List<String> getImageNames(){
+        List<String> names = new ArrayList<>();
+        names.add(ResourcePath.getBehaviors(getTitle()));
+        names.add(ResourcePath.getBackgrounds(getTitle()));
+        names.add(ResourcePath.getForegrounds(getTitle()));
+        Set<String> known = new LinkedHashSet<>(createdImages);
+        known.addAll(drawnImages);
+        for (String name : known) {
+            if (!names.contains(name))
+                names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * Getter for the actors of a given type, including the ones registered since the last update
+     * @param type (Class): the type of the actors, not null
+     * @param <T>: the type of the actors
+     * @return (List of T): a new list of the actors, empty if the area is not started, not null
+     */
+    public final <T> List<T> getActors(Class<T> type){
+        List<T> found = new ArrayList<>();
+        if (!started)
+            return found;
+        for (Actor actor : actors) {
+            if (type.isInstance(actor))
+                found.add(type.cast(actor));
+        }
+        for (Actor actor : registeredActors) {
+            if (type.isInstance(actor) && !unregisteredActors.contains(actor))
+                found.add(type.cast(actor));
+        }
+        return found;
+    }
+
     /**
      * Getter for the area width
      * @return (int) : the width in number of cols
@@ -160,14 +338,34 @@ public abstract class Area implements Playable {
         return areaBehavior.getHeight();
     }
 
-    /** @return the Window Keyboard for inputs */
+    /**
+     * Getter for the coordinates (x, y), shared by all the entities of this area
+     * @param x (int): The column index
+     * @param y (int): The row index
+     * @return (DiscreteCoordinates): interned coordinates if inside the area, a new instance otherwise
+     */
+    public final DiscreteCoordinates getCoordinates(int x, int y) {
+        if (areaBehavior == null)
+            return new DiscreteCoordinates(x, y);
+        return areaBehavior.getCoordinates(x, y);
+    }
+
+    /**
+     * Indicate if this area is simulated in background, its inputs are then ignored
+     * @param background (boolean): the new value
+     */
+    final void setBackground(boolean background) {
+        this.background = background;
+    }
+
+    /** @return the Window Keyboard for inputs, or a released one in background */
     public final Keyboard getKeyboard () {
-        return window.getKeyboard();
+        return background ? NO_KEYBOARD : window.getKeyboard();
     }
     
-    /** @return the Window Mouse for inputs */
+    /** @return the Window Mouse for inputs, or a released one in background */
     public final Mouse getMouse() {
-    	return window.getMouse();
+    	return background ? NO_MOUSE : window.getMouse();
     }
 
     /** @return the mouse position relatively to the area and the cells */
@@ -180,8 +378,7 @@ public abstract class Area implements Playable {
     /** @return the mouse coordinates relatively to the area and the cells */
     public DiscreteCoordinates getRelativeMouseCoordinates() {
     	Vector mousePosition = getRelativeMousePosition();
-    	DiscreteCoordinates mouseCoordinate = new DiscreteCoordinates((int)Math.floor(mousePosition.x), (int)Math.floor(mousePosition.y));
-    	return mouseCoordinate;
+    	return getCoordinates((int)Math.floor(mousePosition.x), (int)Math.floor(mousePosition.y));
     }
     
     /** @return (boolean): true if the method begin already called once. You can use resume() instead*/
@@ -199,7 +396,8 @@ public abstract class Area implements Playable {
         // Finer Area strategies can be implemented here if wanted
         // Until now, the entity is put in a map waiting the update end to avoid concurrent exception during interaction
         if(areaBehavior.canLeave(entity, coordinates)){
-            interactablesToLeave.put(entity, coordinates);
+            if(!defer(() -> interactablesToLeave.put(entity, coordinates)))
+                interactablesToLeave.put(entity, coordinates);
             return true;
         }
         return false;
@@ -215,12 +413,24 @@ public abstract class Area implements Playable {
         // Finer Area strategies can be implemented here if wanted
         // Until now, the entity is put in a map waiting the update end to avoid concurrent exception during interaction
         if(areaBehavior.canEnter(entity, coordinates)){
-            interactablesToEnter.put(entity, coordinates);
+            if(!defer(() -> interactablesToEnter.put(entity, coordinates)))
+                interactablesToEnter.put(entity, coordinates);
             return true;
         }
         return false;
     }
     
+    /**
+     * Inform the area that the takeCellSpace answer of the given entity changed
+     * Must be called by every entity whose takeCellSpace answer changes while inside the area
+     * @param entity (Interactable), not null
+     * @param coordinates (List of DiscreteCoordinates): the cells containing the entity, may be empty but not null
+     */
+    public final void cellSpaceChanged(Interactable entity, List<DiscreteCoordinates> coordinates) {
+        if(!defer(() -> areaBehavior.cellSpaceChanged(entity, coordinates)))
+            areaBehavior.cellSpaceChanged(entity, coordinates);
+    }
+
     /**
      * Inform if the entity can enter the area cells
      * @param entity (Interactable), not null
@@ -242,14 +452,33 @@ public abstract class Area implements Playable {
         interactors = new LinkedList<>();
         registeredActors = new LinkedList<>();
         unregisteredActors = new LinkedList<>();
-        interactablesToEnter = new HashMap<>();
-        interactablesToLeave = new HashMap<>();
+        interactablesToEnter = new LinkedHashMap<>();
+        interactablesToLeave = new LinkedHashMap<>();
         viewCenter = Vector.ZERO;
+        ticks = 0;
+        updatePhases = new IdentityHashMap<>();
+        addedActors = 0;
         //paused = false;
         started = true;
         return true;
     }
 
+    /**
+     * Begin the area, recording the images created by its actors meanwhile
+     * @param window (Window): display context, not null
+     * @param fileSystem (FileSystem): given file system, not null
+     * @return (boolean): whether the area began
+     */
+    final boolean beginRecordingImages(Window window, FileSystem fileSystem) {
+        createdImages.clear();
+        ImageGraphics.recordNames(createdImages);
+        try {
+            return begin(window, fileSystem);
+        } finally {
+            ImageGraphics.recordNames(null);
+        }
+    }
+
     /**
      * Resume method: Can be overridden
      * @param window (Window): display context, not null
@@ -261,33 +490,229 @@ public abstract class Area implements Playable {
     }
 
     @Override
-    public void update(float deltaTime) {    	
+    public void update(float deltaTime) {
+    	simulate(deltaTime);
+
+    	// Update camera location
+    	updateCamera();
+
+    	// Play actors sounds
+    	for (Actor actor : actors) {
+    		actor.bip(window);
+    	}
+    }
+
+    /**
+     * Update the actors and realize the interactions of this area, without camera nor sound
+     * Called by update, or alone to keep a suspended area alive in background.
+     * In background, possibly on another thread, no input is received and the actors
+     * must only act on their own area
+     * @param deltaTime (float): elapsed time since the last update, in seconds, non-negative
+     */
+    public void simulate(float deltaTime) {
     	purgeRegistration();
 
-    	// Render actors
+    	// Update actors, at a rate depending on their distance to the view
+    	++ticks;
+    	activeActors = reducedActors = dormantActors = 0;
     	for (Actor actor : actors) {
-    		actor.update(deltaTime);
+    		switch (activityOf(actor)) {
+    		case ACTIVE:
+    			++activeActors;
+    			actor.update(deltaTime);
+    			break;
+    		case REDUCED:
+    			++reducedActors;
+    			// Spread the reduced updates over the period
+    			if ((updatePhases.get(actor) + ticks) % REDUCED_UPDATE_PERIOD == 0) {
+    				actor.update(deltaTime * REDUCED_UPDATE_PERIOD);
+    			}
+    			break;
+    		default:
+    			++dormantActors;
+    			break;
+    		}
     	}
 
     	// Realize interaction between interactors and their cells contents
-    	for (Interactor interactor : interactors) {
-    		if (interactor.wantsCellInteraction()) {
-    			areaBehavior.cellInteractionOf(interactor);
+    	if (isParallelInteractionEnabled() && interactors.size() >= PARALLEL_INTERACTION_THRESHOLD) {
+    		parallelInteractions();
+    	} else {
+    		for (Interactor interactor : interactors) {
+    			interact(interactor);
     		}
-    		if (interactor.wantsViewInteraction()) {
-    			areaBehavior.viewInteractionOf(interactor);
+    	}
+    }
+
+    /**
+     * Realize the interactions of the given interactor with its cells contents, unless it is dormant
+     * @param interactor (Interactor), not null
+     */
+    private void interact(Interactor interactor) {
+    	if (interactor instanceof Actor && activityOf((Actor)interactor) == DORMANT) {
+    		return;
+    	}
+    	if (interactor.wantsCellInteraction()) {
+    		areaBehavior.cellInteractionOf(interactor);
+    	}
+    	if (interactor.wantsViewInteraction()) {
+    		areaBehavior.viewInteractionOf(interactor);
+    	}
+    }
+
+    /**
+     * Realize the interactions on several threads, with the same result as the sequential loop:
+     * - the interactors reaching common cells or entities are grouped, each group runs in order on the pool
+     * - the registrations and cell changes requested meanwhile are deferred, then applied in interactor order
+     * If an interaction fails, none of the deferred commands is applied and its exception is rethrown
+     */
+    private void parallelInteractions() {
+    	Interactor[] ordered = interactors.toArray(new Interactor[0]);
+    	int count = ordered.length;
+
+    	// Union the interactors reaching a same interactable
+    	int[] parents = new int[count];
+    	Map<Object, Integer> reachedBy = new IdentityHashMap<>();
+    	for (int i = 0; i < count; ++i) {
+    		parents[i] = i;
+    		int index = i;
+    		reachedBy.put(ordered[i], i);
+    		areaBehavior.forEachReachable(ordered[i], interactable -> {
+    			Integer other = reachedBy.putIfAbsent(interactable, index);
+    			if (other != null) {
+    				union(parents, index, other);
+    			}
+    		});
+    	}
+
+    	// Groups keep the interactors order
+    	Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+    	for (int i = 0; i < count; ++i) {
+    		groups.computeIfAbsent(find(parents, i), root -> new ArrayList<>()).add(i);
+    	}
+
+    	List<List<Runnable>> commands = new ArrayList<>(Collections.nCopies(count, null));
+    	List<Callable<Void>> tasks = new ArrayList<>(groups.size());
+    	for (List<Integer> group : groups.values()) {
+    		tasks.add(() -> {
+    			try {
+    				for (int index : group) {
+    					List<Runnable> buffer = new ArrayList<>(0);
+    					deferredCommands.set(buffer);
+    					interact(ordered[index]);
+    					commands.set(index, buffer);
+    				}
+    			} finally {
+    				deferredCommands.remove();
+    			}
+    			return null;
+    		});
+    	}
+    	// All the tasks are done: report the failure of the first group, as the sequential loop would have
+    	for (Future<Void> task : ForkJoinPool.commonPool().invokeAll(tasks)) {
+    		try {
+    			task.get();
+    		} catch (InterruptedException e) {
+    			Thread.currentThread().interrupt();
+    		} catch (ExecutionException e) {
+    			Throwable cause = e.getCause();
+    			if (cause instanceof RuntimeException)
+    				throw (RuntimeException) cause;
+    			if (cause instanceof Error)
+    				throw (Error) cause;
+    			throw new IllegalStateException("Interaction failed in " + getTitle(), cause);
     		}
     	}
 
-    	// Update camera location
-    	updateCamera();
+    	// Apply the deferred commands as the sequential loop would have
+    	for (List<Runnable> buffer : commands) {
+    		if (buffer != null) {
+    			for (Runnable command : buffer) {
+    				command.run();
+    			}
+    		}
+    	}
+    }
+
+    /**
+     * Find the root of the given interactor group
+     * @param parents (int[]): parent of each interactor index, not null
+     * @param index (int): the interactor index
+     * @return (int): the index of the group root
+     */
+    private static int find(int[] parents, int index) {
+    	while (parents[index] != index) {
+    		parents[index] = parents[parents[index]];
+    		index = parents[index];
+    	}
+    	return index;
+    }
 
-    	// Draw actors
+    /**
+     * Merge the groups of the two given interactors
+     * @param parents (int[]): parent of each interactor index, not null
+     * @param a (int): first interactor index
+     * @param b (int): second interactor index
+     */
+    private static void union(int[] parents, int a, int b) {
+    	int rootA = find(parents, a);
+    	int rootB = find(parents, b);
+    	if (rootA != rootB) {
+    		parents[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+    	}
+    }
+
+    /**
+     * Record the given command in the buffer of the current thread during a parallel interaction phase
+     * @param command (Runnable): the command to defer, not null
+     * @return (boolean): true if deferred, false if the command must run now
+     */
+    private boolean defer(Runnable command) {
+    	List<Runnable> buffer = deferredCommands.get();
+    	if (buffer == null) {
+    		return false;
+    	}
+    	buffer.add(command);
+    	return true;
+    }
+
+    /// Area implements Graphics
+
+    @Override
+    public void draw(Canvas canvas) {
+    	// Visible region, as set by the last camera update
+    	float halfWidth = canvas.getScaledWidth()/2;
+    	float halfHeight = canvas.getScaledHeight()/2;
+    	float xMin = viewCenter.x - halfWidth;
+    	float xMax = viewCenter.x + halfWidth;
+    	float yMin = viewCenter.y - halfHeight;
+    	float yMax = viewCenter.y + halfHeight;
+
+    	// Record the images requested by the actors during the first frames
+    	if (drawnFrames < RECORDED_FRAMES) {
+    		++drawnFrames;
+    		canvas = imageRecorder.on(canvas);
+    	}
+
+    	// Draw actors, once per rendered frame, skipping the ones out of the view
+    	culledActors = 0;
     	for (Actor actor : actors) {
-    		actor.bip(window);
-    		actor.draw(window);
+    		float[] box = actor.getBoundingBox();
+    		if (box != null) {
+    			Vector position = actor.getPosition();
+    			if (position.x + box[2] < xMin || position.x + box[0] > xMax
+    					|| position.y + box[3] < yMin || position.y + box[1] > yMax) {
+    				++culledActors;
+    				continue;
+    			}
+    		}
+    		actor.draw(canvas);
     	}
 
+    	// Once recorded, keep the images of the actors loaded too
+    	if (drawnFrames == RECORDED_FRAMES && canvas == imageRecorder) {
+    		canvas.pinImages(getImageNames());
+    	}
     }
 
     final void purgeRegistration() {
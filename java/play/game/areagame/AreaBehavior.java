@@ -1,14 +1,15 @@
 package play.game.areagame;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.function.Consumer;
 
 import play.game.areagame.actor.Interactable;
 import play.game.areagame.actor.Interactor;
 import play.game.areagame.io.ResourcePath;
 import play.math.DiscreteCoordinates;
+import play.math.DiscreteCoordinatesTable;
 import play.window.Image;
 import play.window.Window;
 
@@ -21,8 +22,29 @@ public abstract class AreaBehavior
     /// The behavior is an Image of size height x width
     private final Image behaviorMap;
     private final int width, height;
-    /// We will convert the image into an array of cells
-    private final Cell[][] cells;
+    /// We will convert the image into a flat array of cells, indexed by y * width + x
+    private final Cell[] cells;
+    /// Content of the cells as a compact multimap: for each cell a linked list of slots of an entity pool
+    private static final int NO_SLOT = -1;
+    private final int[] firstSlots;
+    private int[] nextSlots;
+    private Interactable[] slotEntities;
+    /// Whether the entity of a slot was counted as taking the cell space
+    private boolean[] slotBlocking;
+    /// Number of entities taking the cell space, per cell
+    private final int[] blockingCounts;
+    private int freeSlot;
+    private int usedSlots;
+    /// Interned coordinates of all the cells
+    private final DiscreteCoordinatesTable coordinates;
+    /// Spatial index: one bit per cell, grouped by chunks of CHUNK_SIZE x CHUNK_SIZE cells
+    private static final int CHUNK_SHIFT = 3;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private final int chunksPerRow;
+    /// Cells containing at least one entity
+    private final long[] occupiedCells;
+    /// Cells which are themselves view interactable (assumed constant)
+    private final long[] viewInteractableCells;
 
     /**
      * Default AreaBehavior Constructor
@@ -35,7 +57,83 @@ public abstract class AreaBehavior
         // Get the corresponding dimension and init the array
         height = behaviorMap.getHeight();
         width = behaviorMap.getWidth();
-        cells = new Cell[width][height];
+        cells = new Cell[width * height];
+        firstSlots = new int[width * height];
+        Arrays.fill(firstSlots, NO_SLOT);
+        nextSlots = new int[16];
+        slotEntities = new Interactable[16];
+        slotBlocking = new boolean[16];
+        blockingCounts = new int[width * height];
+        freeSlot = NO_SLOT;
+        usedSlots = 0;
+        coordinates = new DiscreteCoordinatesTable(width, height);
+        chunksPerRow = (width + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        int chunksPerColumn = (height + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        occupiedCells = new long[chunksPerRow * chunksPerColumn];
+        viewInteractableCells = new long[chunksPerRow * chunksPerColumn];
+    }
+
+    /**
+     * Take a free slot of the entity pool, growing it if needed
+     * @param entity (Interactable): the entity to store, not null
+     * @return (int): index of the slot
+     */
+    private int allocateSlot(Interactable entity) {
+        int slot;
+        if (freeSlot != NO_SLOT) {
+            slot = freeSlot;
+            freeSlot = nextSlots[slot];
+        } else {
+            if (usedSlots == slotEntities.length) {
+                nextSlots = Arrays.copyOf(nextSlots, 2 * usedSlots);
+                slotEntities = Arrays.copyOf(slotEntities, 2 * usedSlots);
+                slotBlocking = Arrays.copyOf(slotBlocking, 2 * usedSlots);
+            }
+            slot = usedSlots++;
+        }
+        slotEntities[slot] = entity;
+        return slot;
+    }
+
+    /**
+     * Give back a slot to the entity pool
+     * @param slot (int): index of the slot, not used anymore
+     */
+    private void releaseSlot(int slot) {
+        slotEntities[slot] = null;
+        slotBlocking[slot] = false;
+        nextSlots[slot] = freeSlot;
+        freeSlot = slot;
+    }
+
+    /**
+     * @param x (int): x-coordinate of a cell, inside the behavior
+     * @param y (int): y-coordinate of a cell, inside the behavior
+     * @return (int): index of the chunk containing the cell
+     */
+    private int chunkOf(int x, int y) {
+        return (y >> CHUNK_SHIFT) * chunksPerRow + (x >> CHUNK_SHIFT);
+    }
+
+    /**
+     * @param x (int): x-coordinate of a cell, inside the behavior
+     * @param y (int): y-coordinate of a cell, inside the behavior
+     * @return (long): mask of the cell inside its chunk
+     */
+    private static long bitOf(int x, int y) {
+        return 1L << (((y & (CHUNK_SIZE - 1)) << CHUNK_SHIFT) | (x & (CHUNK_SIZE - 1)));
+    }
+
+    /**
+     * Indicate if a view interaction with the given cell can have any effect
+     * i.e. if the cell contains entities or is itself view interactable
+     * @param x (int): x-coordinate of a cell, inside the behavior
+     * @param y (int): y-coordinate of a cell, inside the behavior
+     * @return (boolean): false if the cell can be skipped
+     */
+    private boolean isWorthViewing(int x, int y) {
+        int chunk = chunkOf(x, y);
+        return ((occupiedCells[chunk] | viewInteractableCells[chunk]) & bitOf(x, y)) != 0;
     }
 
   
@@ -43,16 +141,96 @@ public abstract class AreaBehavior
         for(DiscreteCoordinates dc : interactor.getCurrentCells()){
             if(dc.x < 0 || dc.y < 0 || dc.x >= width || dc.y >= height)
                 continue;
-            cells[dc.x][dc.y].cellInteractionOf(interactor);
+            cells[dc.y * width + dc.x].cellInteractionOf(interactor);
         }
     }
 
    
     protected void viewInteractionOf(Interactor interactor){
+        int[] bounds = interactor.getFieldOfViewBounds();
+        if(bounds != null){
+            viewInteractionOf(interactor, bounds);
+            return;
+        }
         for(DiscreteCoordinates dc : interactor.getFieldOfViewCells()){
             if(dc.x < 0 || dc.y < 0 || dc.x >= width || dc.y >= height)
                 continue;
-            cells[dc.x][dc.y].viewInteractionOf(interactor);
+            if(isWorthViewing(dc.x, dc.y))
+                cells[dc.y * width + dc.x].viewInteractionOf(interactor);
+        }
+    }
+
+    /**
+     * Apply the given action to everything the given interactor may interact with during an update:
+     * the cells it covers or views and their contents
+     * Used to group the interactors whose interactions may depend on each other
+     * @param interactor (Interactor), not null
+     * @param action (Consumer): applied to each reachable interactable, possibly several times, not null
+     */
+    void forEachReachable(Interactor interactor, Consumer<Interactable> action){
+        if(interactor.wantsCellInteraction()){
+            for(DiscreteCoordinates dc : interactor.getCurrentCells())
+                reach(dc.x, dc.y, action);
+        }
+        if(interactor.wantsViewInteraction()){
+            int[] bounds = interactor.getFieldOfViewBounds();
+            if(bounds != null){
+                for(int y = Math.max(0, bounds[1]); y <= Math.min(height - 1, bounds[3]); y++){
+                    for(int x = Math.max(0, bounds[0]); x <= Math.min(width - 1, bounds[2]); x++)
+                        reach(x, y, action);
+                }
+            }else{
+                for(DiscreteCoordinates dc : interactor.getFieldOfViewCells())
+                    reach(dc.x, dc.y, action);
+            }
+        }
+    }
+
+    /**
+     * Apply the given action to the cell (x, y) and its content, if the cell exists
+     * @param x (int): the column index
+     * @param y (int): the row index
+     * @param action (Consumer): the action to apply, not null
+     */
+    private void reach(int x, int y, Consumer<Interactable> action){
+        if(x < 0 || y < 0 || x >= width || y >= height)
+            return;
+        int index = y * width + x;
+        action.accept(cells[index]);
+        for(int slot = firstSlots[index]; slot != NO_SLOT; slot = nextSlots[slot])
+            action.accept(slotEntities[slot]);
+    }
+
+    /**
+     * Do the given interactor view interact with the cells of a rectangle
+     * Only the chunks intersecting the rectangle are visited, and only their non empty cells
+     * @param interactor (Interactor), not null
+     * @param bounds (int[]): {xMin, yMin, xMax, yMax} inclusive bounds of the rectangle, not null
+     */
+    private void viewInteractionOf(Interactor interactor, int[] bounds){
+        int xMin = Math.max(0, bounds[0]);
+        int yMin = Math.max(0, bounds[1]);
+        int xMax = Math.min(width - 1, bounds[2]);
+        int yMax = Math.min(height - 1, bounds[3]);
+        List<DiscreteCoordinates> currentCells = interactor.getCurrentCells();
+
+        for(int cy = yMin >> CHUNK_SHIFT; cy <= yMax >> CHUNK_SHIFT; cy++){
+            for(int cx = xMin >> CHUNK_SHIFT; cx <= xMax >> CHUNK_SHIFT; cx++){
+                int chunk = cy * chunksPerRow + cx;
+                long mask = occupiedCells[chunk] | viewInteractableCells[chunk];
+                // Walk the set bits only, empty chunks are skipped entirely
+                while(mask != 0){
+                    int bit = Long.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                    int x = (cx << CHUNK_SHIFT) | (bit & (CHUNK_SIZE - 1));
+                    int y = (cy << CHUNK_SHIFT) | (bit >> CHUNK_SHIFT);
+                    if(x < xMin || x > xMax || y < yMin || y > yMax)
+                        continue;
+                    Cell cell = cells[y * width + x];
+                    if(!currentCells.contains(cell.coordinates))
+                        cell.viewInteractionOf(interactor);
+                }
+            }
         }
     }
 
@@ -63,7 +241,7 @@ public abstract class AreaBehavior
         for(DiscreteCoordinates c : coordinates){
             if(c.x < 0 || c.y < 0 || c.x >= width || c.y >= height)
                 return false;
-            if(!cells[c.x][c.y].canLeave(entity))
+            if(!cells[c.y * width + c.x].canLeave(entity))
                 return false;
         }
         return true;
@@ -73,7 +251,7 @@ public abstract class AreaBehavior
         for(DiscreteCoordinates c : coordinates){
             if(c.x < 0 || c.y < 0 || c.x >= width || c.y >= height)
                 return false;
-            if(!cells[c.x][c.y].canEnter(entity))
+            if(!cells[c.y * width + c.x].canEnter(entity))
                 return false;
         }
         return true;
@@ -82,20 +260,71 @@ public abstract class AreaBehavior
     protected void leave(Interactable entity, List<DiscreteCoordinates> coordinates) {
 
         for(DiscreteCoordinates c : coordinates){
-            cells[c.x][c.y].leave(entity);
+            cells[c.y * width + c.x].leave(entity);
         }
 
     }
 
     protected void enter(Interactable entity, List<DiscreteCoordinates> coordinates) {
         for(DiscreteCoordinates c : coordinates){
-            cells[c.x][c.y].enter(entity);
+            cells[c.y * width + c.x].enter(entity);
         }
     }
 
+    /**
+     * Update the blocking counters of the given cells after the takeCellSpace answer of the given entity changed
+     * Cells of the list not containing the entity are ignored
+     * @param entity (Interactable), not null
+     * @param coordinates (List of DiscreteCoordinates), may be empty but not null
+     */
+    protected void cellSpaceChanged(Interactable entity, List<DiscreteCoordinates> coordinates) {
+        boolean blocking = entity.takeCellSpace();
+        for(DiscreteCoordinates c : coordinates){
+            if(c.x < 0 || c.y < 0 || c.x >= width || c.y >= height)
+                continue;
+            int index = c.y * width + c.x;
+            for(int slot = firstSlots[index]; slot != NO_SLOT; slot = nextSlots[slot]){
+                if(slotEntities[slot] == entity){
+                    if(slotBlocking[slot] != blocking){
+                        slotBlocking[slot] = blocking;
+                        blockingCounts[index] += blocking ? 1 : -1;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Getter for the coordinates (x, y)
+     * @param x (int): The column index
+     * @param y (int): The row index
+     * @return (DiscreteCoordinates): interned coordinates if inside the behavior, a new instance otherwise
+     */
+    public DiscreteCoordinates getCoordinates(int x, int y) {
+        return coordinates.get(x, y);
+    }
+
+    /**
+     * Getter for the packed coordinates
+     * @param packed (long): coordinates packed with DiscreteCoordinates.pack(x, y)
+     * @return (DiscreteCoordinates): interned coordinates if inside the behavior, a new instance otherwise
+     */
+    public DiscreteCoordinates getPackedCoordinates(long packed) {
+        return coordinates.getPacked(packed);
+    }
+
     protected int getRGB(int r, int c) {
     	return behaviorMap.getRGB(r, c);
     }
+
+    /**
+     * Colors of the whole behavior image, read at once
+     * @return (Array of int): RGB colors, row after row from the top row (i.e. y = height - 1), a new array
+     */
+    protected int[] getPixels() {
+    	return behaviorMap.getPixels();
+    }
     
     protected int getHeight() {
     	return height;
@@ -106,19 +335,23 @@ public abstract class AreaBehavior
     }
     
     protected void setCell(int x,int y, Cell cell) {
-    	cells[x][y] = cell;
+    	cells[y * width + x] = cell;
+    	if(cell.isViewInteractable())
+    	    viewInteractableCells[chunkOf(x, y)] |= bitOf(x, y);
+    	else
+    	    viewInteractableCells[chunkOf(x, y)] &= ~bitOf(x, y);
     }
     
     protected Cell getCell(int x, int y) {
-    	return cells[x][y];
+    	return cells[y * width + x];
     }
     
     // Cell as inner class
     public abstract class Cell implements Interactable{
 
-        /// Content of the cell as a set of Interactable
-        private Set<Interactable> entities;
-        private DiscreteCoordinates coordinates;
+        /// Index of the cell, its content is stored by the behavior from firstSlots[index]
+        private final int index;
+        private final DiscreteCoordinates coordinates;
 
 
         /**
@@ -127,16 +360,17 @@ public abstract class AreaBehavior
          * @param y (int): y-coordinate of this cell
          */
         protected Cell(int x, int y){
-            entities = new HashSet<>();
-            coordinates = new DiscreteCoordinates(x, y);
+            index = y * width + x;
+            coordinates = AreaBehavior.this.coordinates.get(x, y);
         }
         
+        /**
+         * Indicate if an entity of this cell takes the cell space
+         * Note: relies on the counters, entities must notify their area when takeCellSpace changes
+         * @return (boolean): true if the cell space is taken
+         */
         protected boolean hasNonTraversableContent() {
-    		for (Interactable entity : entities) {
-                if (entity.takeCellSpace())
-                    return true;
-            }
-    		return false;
+    		return blockingCounts[index] > 0;
     	}
       
         /**
@@ -145,7 +379,8 @@ public abstract class AreaBehavior
          */
        private void cellInteractionOf(Interactor interactor){ // REFACTOR: must become private with inner class
             interactor.interactWith(this);
-            for(Interactable interactable : entities){
+            for(int slot = firstSlots[index]; slot != NO_SLOT; slot = nextSlots[slot]){
+                Interactable interactable = slotEntities[slot];
                 if(interactable.isCellInteractable())
                     interactor.interactWith(interactable);
             }
@@ -156,8 +391,10 @@ public abstract class AreaBehavior
          * @param interactor (Interactor), not null
          */
         private  void viewInteractionOf(Interactor interactor){ 
-            interactor.interactWith(this);
-            for(Interactable interactable : entities){
+            if(isViewInteractable())
+                interactor.interactWith(this);
+            for(int slot = firstSlots[index]; slot != NO_SLOT; slot = nextSlots[slot]){
+                Interactable interactable = slotEntities[slot];
                 if(interactable.isViewInteractable())
                     interactor.interactWith(interactable);
             }
@@ -168,7 +405,18 @@ public abstract class AreaBehavior
          * @param entity (Interactable), not null
          */
         protected void enter(Interactable entity) {
-            entities.add(entity);
+            // An entity is stored at most once per cell
+            for(int slot = firstSlots[index]; slot != NO_SLOT; slot = nextSlots[slot]){
+                if(slotEntities[slot] == entity)
+                    return;
+            }
+            int slot = allocateSlot(entity);
+            nextSlots[slot] = firstSlots[index];
+            firstSlots[index] = slot;
+            slotBlocking[slot] = entity.takeCellSpace();
+            if(slotBlocking[slot])
+                ++blockingCounts[index];
+            occupiedCells[chunkOf(coordinates.x, coordinates.y)] |= bitOf(coordinates.x, coordinates.y);
         }
 
         /**
@@ -176,7 +424,21 @@ public abstract class AreaBehavior
          * @param entity (Interactable), not null
          */
         protected void leave(Interactable entity) {
-            entities.remove(entity);
+            int previous = NO_SLOT;
+            for(int slot = firstSlots[index]; slot != NO_SLOT; previous = slot, slot = nextSlots[slot]){
+                if(slotEntities[slot] == entity){
+                    if(previous == NO_SLOT)
+                        firstSlots[index] = nextSlots[slot];
+                    else
+                        nextSlots[previous] = nextSlots[slot];
+                    if(slotBlocking[slot])
+                        --blockingCounts[index];
+                    releaseSlot(slot);
+                    break;
+                }
+            }
+            if(firstSlots[index] == NO_SLOT)
+                occupiedCells[chunkOf(coordinates.x, coordinates.y)] &= ~bitOf(coordinates.x, coordinates.y);
         }
 
         /**
@@ -2,10 +2,15 @@ package play.game.areagame;
 
 import play.game.Game;
 import play.io.FileSystem;
+import play.window.Canvas;
 import play.window.Window;
 
 import java.util.*;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 /**
@@ -22,6 +27,32 @@ abstract public class AreaGame implements Game//, PauseMenu.Pausable
     private Map<String, Area> areas;
     /// The current area the game is in
     private Area currentArea;
+    /// Suspended areas simulated in background, from the least to the most recently visited,
+    /// with their pending simulation step if any
+    private LinkedHashMap<Area, Future<?>> backgroundAreas;
+    /// Workers simulating the background areas, created when first needed
+    private ExecutorService backgroundExecutor;
+    /// Number of updates and time elapsed since the last background simulation step
+    private int backgroundTicks;
+    private float backgroundTime;
+
+    /**
+     * Getter for the number of recently visited areas kept alive in background once suspended
+     * Can be overridden, no area is simulated in background by default
+     * @return (int): the maximal number of background areas
+     */
+    protected int getBackgroundAreasCount(){
+        return 0;
+    }
+
+    /**
+     * Getter for the number of game updates per background simulation step
+     * Can be overridden, background areas are simulated at a quarter of the game rate by default
+     * @return (int): the update period of the background areas, positive
+     */
+    protected int getBackgroundUpdatePeriod(){
+        return 4;
+    }
 
     /**
      * Add an Area to the AreaGame list
@@ -48,21 +79,142 @@ abstract public class AreaGame implements Game//, PauseMenu.Pausable
             if(currentArea != null){
                 currentArea.suspend();
                 currentArea.purgeRegistration(); // Is useful?
+                startBackgroundSimulation(currentArea);
             }
-            
+
+            // Take the new one back from the background simulation, once its last step is done
+            stopBackgroundSimulation(newArea);
             currentArea = newArea;
             
-            // Start/Resume the new one
+            // Start/Resume the new one, keeping its images loaded
             if (forceBegin || !currentArea.isStarted()) {
-                currentArea.begin(window, fileSystem);
+                currentArea.beginRecordingImages(window, fileSystem);
             } else {
                 currentArea.resume(window, fileSystem);
             }
+            window.pinImages(currentArea.getImageNames());
     	}
     	
         return currentArea;
     }
 
+    /**
+     * Announce the images of an area to the window, so that they can be decoded before it is entered
+     * An area never started begins now, for the images of its actors to be known: it is then resumed when entered
+     * @param key (String): key of the area, not null
+     */
+    protected final void preloadArea(String key){
+        Area area = areas.get(key);
+        if (area != null && area != currentArea) {
+            if (!area.isStarted()) {
+                area.beginRecordingImages(window, fileSystem);
+            }
+            window.preloadImages(area.getImageNames());
+        }
+    }
+
+    /**
+     * Keep the given suspended area alive in background, if enabled
+     * The least recently visited background areas are stopped when there are too many
+     * @param area (Area): the area, not null
+     */
+    private void startBackgroundSimulation(Area area){
+        if (getBackgroundAreasCount() <= 0) {
+            return;
+        }
+        if (backgroundExecutor == null) {
+            int workers = Math.max(1, Math.min(getBackgroundAreasCount(), Runtime.getRuntime().availableProcessors() - 1));
+            backgroundExecutor = Executors.newFixedThreadPool(workers, task -> {
+                Thread thread = new Thread(task, "AreaGame background");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        stopBackgroundSimulation(area);
+        area.setBackground(true);
+        backgroundAreas.put(area, null);
+        while (backgroundAreas.size() > getBackgroundAreasCount()) {
+            stopBackgroundSimulation(backgroundAreas.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Stop simulating the given area in background, waiting for its pending step
+     * Does nothing if the area is not simulated in background
+     * @param area (Area): the area, not null
+     */
+    private void stopBackgroundSimulation(Area area){
+        if (!backgroundAreas.containsKey(area)) {
+            return;
+        }
+        try {
+            waitFor(area, backgroundAreas.remove(area));
+        } finally {
+            area.setBackground(false);
+        }
+    }
+
+    /**
+     * Wait for the given background simulation step to be done
+     * A failed step leaves the area as it stopped: the caller must not simulate it anymore, the area staying suspended
+     * @param area (Area): the simulated area, not null
+     * @param step (Future): the pending step, may be null
+     * @throws IllegalStateException or the error of the step, if the step failed
+     */
+    private void waitFor(Area area, Future<?> step){
+        if (step == null) {
+            return;
+        }
+        try {
+            step.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException("Background simulation of " + area.getTitle() + " failed", cause);
+        }
+    }
+
+    /**
+     * Submit a simulation step for every background area, once per background update period
+     * Areas still busy with their previous step skip this one
+     * @param deltaTime (float): elapsed time since the last game update, in seconds
+     */
+    private void updateBackgroundAreas(float deltaTime){
+        if (backgroundAreas.isEmpty()) {
+            return;
+        }
+        backgroundTime += deltaTime;
+        if (++backgroundTicks < getBackgroundUpdatePeriod()) {
+            return;
+        }
+        float elapsed = backgroundTime;
+        backgroundTicks = 0;
+        backgroundTime = 0;
+
+        Iterator<Map.Entry<Area, Future<?>>> iterator = backgroundAreas.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Area, Future<?>> entry = iterator.next();
+            Area area = entry.getKey();
+            Future<?> step = entry.getValue();
+            if (step == null || step.isDone()) {
+                try {
+                    waitFor(area, step);
+                } catch (RuntimeException | Error e) {
+                    // Suspend the failed area instead of simulating it again
+                    iterator.remove();
+                    area.setBackground(false);
+                    throw e;
+                }
+                entry.setValue(backgroundExecutor.submit(() -> area.simulate(elapsed)));
+            }
+        }
+    }
+
     /**@return (Window) : the Graphic and Audio context*/
     protected final Window getWindow(){
         return window;
@@ -91,6 +243,7 @@ abstract public class AreaGame implements Game//, PauseMenu.Pausable
         this.fileSystem = fileSystem;
 
         areas = new HashMap<>();
+        backgroundAreas = new LinkedHashMap<>();
         return true;
     }
 
@@ -98,11 +251,33 @@ abstract public class AreaGame implements Game//, PauseMenu.Pausable
     @Override
     public void update(float deltaTime) {
     	currentArea.update(deltaTime);
+    	updateBackgroundAreas(deltaTime);
+    }
+
+    /// AreaGame implements Graphics
+
+    @Override
+    public void draw(Canvas canvas) {
+        currentArea.draw(canvas);
     }
 
     @Override
     public void end() {
-        // by default does nothing
+        // Stop the background simulation, even if a last step failed
+        try {
+            for (Map.Entry<Area, Future<?>> entry : backgroundAreas.entrySet()) {
+                waitFor(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            for (Area area : backgroundAreas.keySet()) {
+                area.setBackground(false);
+            }
+            backgroundAreas.clear();
+            if (backgroundExecutor != null) {
+                backgroundExecutor.shutdown();
+                backgroundExecutor = null;
+            }
+        }
     	// can save the game states if wanted
     }
 
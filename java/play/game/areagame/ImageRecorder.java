@@ -0,0 +1,139 @@
+package play.game.areagame;
+
+import play.math.RegionOfInterest;
+import play.math.Shape;
+import play.math.TextAlign;
+import play.math.Transform;
+import play.math.Vector;
+import play.window.Canvas;
+import play.window.Image;
+
+import java.awt.Color;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Canvas forwarding everything to another one, recording the names of the images requested.
+ * Used by an area to know the images its actors need, to preload them before the next visit
+ */
+final class ImageRecorder implements Canvas {
+
+    /// Canvas actually drawn on
+    private Canvas canvas;
+    /// Names of the requested images
+    private final Set<String> names;
+
+    /**
+     * Creates a recorder
+     * @param names (Set of String): receives the names of the requested images, not null
+     */
+    ImageRecorder(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Setter for the canvas drawn on
+     * @param canvas (Canvas): the canvas, not null
+     * @return (ImageRecorder): this recorder
+     */
+    ImageRecorder on(Canvas canvas) {
+        this.canvas = canvas;
+        return this;
+    }
+
+    /// ImageRecorder implements Canvas
+
+    @Override
+    public Image getImage(String name, RegionOfInterest roi, boolean removeBackground) {
+        // Images without background have their own copy, not a shared sheet worth preloading
+        if (name != null && !removeBackground)
+            names.add(name);
+        return canvas.getImage(name, roi, removeBackground);
+    }
+
+    @Override
+    public void preloadImages(Collection<String> names) {
+        canvas.preloadImages(names);
+    }
+
+    @Override
+    public void pinImages(Collection<String> names) {
+        canvas.pinImages(names);
+    }
+
+    @Override
+    public void drawImage(Image image, Transform transform, float alpha, float depth) {
+        canvas.drawImage(image, transform, alpha, depth);
+    }
+
+    @Override
+    public void drawShape(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
+        canvas.drawShape(shape, transform, fillColor, outlineColor, thickness, alpha, depth);
+    }
+
+    @Override
+    public void drawStaticImage(Image image, Transform transform, float alpha, float depth) {
+        canvas.drawStaticImage(image, transform, alpha, depth);
+    }
+
+    @Override
+    public void drawStaticShape(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
+        canvas.drawStaticShape(shape, transform, fillColor, outlineColor, thickness, alpha, depth);
+    }
+
+    @Override
+    public void drawText(String text, float fontSize, Transform transform, Color fillColor, Color outlineColor, float thickness,
+                         boolean bold, boolean italics, Vector anchor, TextAlign.Horizontal hAlign, TextAlign.Vertical vAlign, float alpha, float depth) {
+        canvas.drawText(text, fontSize, transform, fillColor, outlineColor, thickness, bold, italics, anchor, hAlign, vAlign, alpha, depth);
+    }
+
+    @Override
+    public Vector convertPositionOnScreen(Vector coord) {
+        return canvas.convertPositionOnScreen(coord);
+    }
+
+    @Override
+    public int getWidth() {
+        return canvas.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return canvas.getHeight();
+    }
+
+    @Override
+    public float getXScale() {
+        return canvas.getXScale();
+    }
+
+    @Override
+    public float getYScale() {
+        return canvas.getYScale();
+    }
+
+    @Override
+    public float getScaledWidth() {
+        return canvas.getScaledWidth();
+    }
+
+    @Override
+    public float getScaledHeight() {
+        return canvas.getScaledHeight();
+    }
+
+    @Override
+    public Transform getTransform() {
+        return canvas.getTransform();
+    }
+
+    @Override
+    public Vector getPosition() {
+        return canvas.getPosition();
+    }
+
+    @Override
+    public Vector getVelocity() {
+        return canvas.getVelocity();
+    }
+}
@@ -13,6 +13,9 @@ import play.math.Vector;
  */
 public abstract class AreaEntity extends Entity implements Interactable {
 
+    /// Box bounding the sprites of area entities: up to 4 cells wide, 4 cells high and offset by one cell
+    private static final float[] DEFAULT_BOUNDING_BOX = {-1, -1, 3, 4};
+
     /// AreaEntity are disposed inside an Area
     private Area ownerArea;
     /// Orientation in the Area
@@ -73,6 +76,14 @@ public abstract class AreaEntity extends Entity implements Interactable {
         return true;
     }
 
+    /**
+     * Inform the owner area that the takeCellSpace answer of this entity changed
+     * Must be called by every entity whose takeCellSpace answer can change
+     */
+    protected void notifyCellSpaceChanged() {
+        ownerArea.cellSpaceChanged(this, getCurrentCells());
+    }
+
     /**
      * Getter for the coordinates of the main cell occupied by the AreaEntity
      * @return (DiscreteCoordinates)
@@ -102,9 +113,19 @@ public abstract class AreaEntity extends Entity implements Interactable {
     protected void setCurrentPosition(Vector v){
         // When updating the current position, also check if we need to update the main cell coordinates
         if(DiscreteCoordinates.isCoordinates(v)){
-            this.currentMainCellCoordinates = new DiscreteCoordinates(Math.round(v.x), Math.round(v.y));
+            int x = Math.round(v.x);
+            int y = Math.round(v.y);
+            if(currentMainCellCoordinates.x != x || currentMainCellCoordinates.y != y)
+                this.currentMainCellCoordinates = ownerArea.getCoordinates(x, y);
             v = v.round();
         }
         super.setCurrentPosition(v);
     }
+
+    /// AreaEntity implements Actor
+
+    @Override
+    public float[] getBoundingBox() {
+        return DEFAULT_BOUNDING_BOX;
+    }
 }
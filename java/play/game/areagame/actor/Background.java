@@ -24,6 +24,7 @@ public class Background extends Entity {
         super(DiscreteCoordinates.ORIGIN.toVector());
         sprite = new ImageGraphics(ResourcePath.getBackgrounds(area.getTitle()), area.getWidth(), area.getHeight(), null, Vector.ZERO, 1.0f, -Float.MAX_VALUE);
         sprite.setParent(this);
+        sprite.setStatic(true);
     }
 
     /**
@@ -36,6 +37,7 @@ public class Background extends Entity {
         super(DiscreteCoordinates.ORIGIN.toVector());
         sprite = new ImageGraphics(ResourcePath.getBackgrounds(area.getTitle()), area.getWidth(), area.getHeight(), region, Vector.ZERO, 1.0f, -Float.MAX_VALUE);
         sprite.setParent(this);
+        sprite.setStatic(true);
     }
 
     /**
@@ -48,6 +50,7 @@ public class Background extends Entity {
         super(DiscreteCoordinates.ORIGIN.toVector());
         sprite = new ImageGraphics(ResourcePath.getBackgrounds(name), area.getWidth(), area.getHeight(), region, Vector.ZERO, 1.0f, -Float.MAX_VALUE);
         sprite.setParent(this);
+        sprite.setStatic(true);
     }
 
     /**
@@ -61,6 +64,7 @@ public class Background extends Entity {
         super(DiscreteCoordinates.ORIGIN.toVector());
         sprite = new ImageGraphics(ResourcePath.getBackgrounds(name), width, height, region, Vector.ZERO, 1.0f, -Float.MAX_VALUE);
         sprite.setParent(this);
+        sprite.setStatic(true);
     }
 
     /// Background implements Graphics
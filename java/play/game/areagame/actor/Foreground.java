@@ -24,6 +24,7 @@ public class Foreground extends Entity {
         super(DiscreteCoordinates.ORIGIN.toVector());
         sprite = new ImageGraphics(ResourcePath.getForegrounds(area.getTitle()), area.getWidth(), area.getHeight(), null, Vector.ZERO, 1.0f, 1000);
         sprite.setParent(this);
+        sprite.setStatic(true);
     }
 
     /**
@@ -36,6 +37,7 @@ public class Foreground extends Entity {
         super(DiscreteCoordinates.ORIGIN.toVector());
         sprite = new ImageGraphics(ResourcePath.getForegrounds(area.getTitle()), area.getWidth(), area.getHeight(), region, Vector.ZERO, 1.0f, 1000);
         sprite.setParent(this);
+        sprite.setStatic(true);
     }
 
     /**
@@ -48,6 +50,7 @@ public class Foreground extends Entity {
         super(DiscreteCoordinates.ORIGIN.toVector());
         sprite = new ImageGraphics(ResourcePath.getForegrounds(name), area.getWidth(), area.getHeight(), region, Vector.ZERO, 1.0f, 1000);
         sprite.setParent(this);
+        sprite.setStatic(true);
     }
 
 
@@ -62,6 +65,7 @@ public class Foreground extends Entity {
         super(DiscreteCoordinates.ORIGIN.toVector());
         sprite = new ImageGraphics(ResourcePath.getForegrounds(name), width, height, region, Vector.ZERO, 1.0f, 1000);
         sprite.setParent(this);
+        sprite.setStatic(true);
     }
 
 
@@ -61,7 +61,7 @@ public class Grid extends Entity {
 
     @Override
     public void draw(Canvas canvas) {
-        canvas.drawShape(gridLine, getTransform(), null, java.awt.Color.GRAY, 0.05f, 0.5f, 10000);
-        canvas.drawShape(border, getTransform(), null, java.awt.Color.GRAY, 0.05f, 1, 10000);
+        canvas.drawStaticShape(gridLine, getTransform(), null, java.awt.Color.GRAY, 0.05f, 0.5f, 10000);
+        canvas.drawStaticShape(border, getTransform(), null, java.awt.Color.GRAY, 0.05f, 1, 10000);
     }
 }
@@ -25,6 +25,16 @@ public interface Interactor {
      */
     List<DiscreteCoordinates> getFieldOfViewCells();
 
+    /**
+     * Get this Interactor's field of view as a rectangle of cells, if it is one
+     * When not null, it is used by the area instead of getFieldOfViewCells, which allows to skip
+     * the empty regions of the rectangle. The current cells of this Interactor are not part of it
+     * @return (int[]): {xMin, yMin, xMax, yMax} inclusive bounds, null by default
+     */
+    default int[] getFieldOfViewBounds() {
+        return null;
+    }
+
 
     /**@return (boolean): true if this require cell interaction */
     boolean wantsCellInteraction();
@@ -5,9 +5,7 @@ import play.math.DiscreteCoordinates;
 import play.math.Vector;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * MovableAreaEntity represent AreaEntity which can move on the grid
@@ -77,8 +75,10 @@ public abstract class MovableAreaEntity extends AreaEntity {
     protected final boolean move(int frameForMove, int startingFrame){
     	if(!displacementOccurs || isTargetReached() ) {
 
-        	List<DiscreteCoordinates> leavingCells = getLeftCells();
-        	List<DiscreteCoordinates> enteringCells = getEnteringCells();
+        	List<DiscreteCoordinates> currentCells = getCurrentCells();
+        	List<DiscreteCoordinates> nextCells = getNextCurrentCells();
+        	List<DiscreteCoordinates> leavingCells = difference(currentCells, nextCells);
+        	List<DiscreteCoordinates> enteringCells = difference(nextCells, currentCells);
 
             if(getOwnerArea().enterAreaCells(this, enteringCells) && getOwnerArea().leaveAreaCells(this, leavingCells)){
 
@@ -136,33 +136,29 @@ public abstract class MovableAreaEntity extends AreaEntity {
      * @return (List<DiscreteCoordinates>): the cells after the move
      */
     protected List<DiscreteCoordinates> getNextCurrentCells() {
-    	List<DiscreteCoordinates> nextCells = new ArrayList<>();
-    	for(DiscreteCoordinates coord : getCurrentCells()) {
-    		nextCells.add(coord.jump(getOrientation().toVector()));
+    	List<DiscreteCoordinates> currentCells = getCurrentCells();
+    	List<DiscreteCoordinates> nextCells = new ArrayList<>(currentCells.size());
+    	Vector delta = getOrientation().toVector();
+    	for(DiscreteCoordinates coord : currentCells) {
+    		nextCells.add(getOwnerArea().getCoordinates(coord.x + (int)delta.x, coord.y + (int)delta.y));
     	}
     	return nextCells;
     }
     
-    /** @return (List of DiscreteCoordinates): the cells a movement will implies to leave. May be empty but not null */
-    private List<DiscreteCoordinates> getLeftCells(){
-    	Set<DiscreteCoordinates> leavingCells = new HashSet<>(getCurrentCells());
-    	List<DiscreteCoordinates> nextCells = new ArrayList<>();
-    	for(DiscreteCoordinates coord : getCurrentCells()) {
-    		nextCells.add(coord.jump(getOrientation().toVector()));
+    /**
+     * Compute the cells of a list which are not in another one, without duplicates
+     * Note: entities occupy a few cells, hence a linear search is cheaper than hashing
+     * @param cells (List of DiscreteCoordinates): the cells to filter, not null
+     * @param removed (List of DiscreteCoordinates): the cells to remove, not null
+     * @return (List of DiscreteCoordinates): the cells a movement will implies to leave or enter. May be empty but not null
+     */
+    private static List<DiscreteCoordinates> difference(List<DiscreteCoordinates> cells, List<DiscreteCoordinates> removed){
+    	List<DiscreteCoordinates> result = new ArrayList<>(cells.size());
+    	for(DiscreteCoordinates coord : cells) {
+    		if(!removed.contains(coord) && !result.contains(coord))
+    			result.add(coord);
     	}
-
-    	leavingCells.removeAll(getNextCurrentCells());
-    	
-    	return new ArrayList<>(leavingCells);
-    }
-
-    /** @return (List of DiscreteCoordinates): the cells a movement will implies to enter. May be empty but not null*/
-    private List<DiscreteCoordinates> getEnteringCells(){
-    	Set<DiscreteCoordinates> enteringCells = new HashSet<>(getNextCurrentCells());
-    	
-    	enteringCells.removeAll(getCurrentCells());
-    	
-    	return new ArrayList<>(enteringCells);
+    	return result;
     }
 
 //    /** @return (List of DiscreteCoordinates): the cells previous movement entered */
@@ -197,6 +193,15 @@ public abstract class MovableAreaEntity extends AreaEntity {
     }
 
     /// MovableAreaEntity extends AreaEntity
+
+    @Override
+    protected void notifyCellSpaceChanged() {
+        super.notifyCellSpaceChanged();
+        // During a move, the entity is already inside the cells it is entering
+        if (displacementOccurs && enteredCells != null)
+            getOwnerArea().cellSpaceChanged(this, enteredCells);
+    }
+
     @Override
     protected boolean orientate(Orientation orientation) {
         // Allow reorientation only if no displacement is occurring or if abort current move (opposite orientation)
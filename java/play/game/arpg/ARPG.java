@@ -29,6 +29,8 @@ public class ARPG extends RPG {
 
 	public final static float CAMERA_SCALE_FACTOR = 18.f;
 	public final static float STEP = 0.05f;
+	/// Number of recently visited areas kept alive once left
+	public final static int BACKGROUND_AREAS = 2;
 
 	private final String[] areas = {"zelda/Ferme", "zelda/Village", "zelda/Route", "zelda/RouteChateau", "zelda/Chateau", 
 			"zelda/RouteTemple", "zelda/Temple"};
@@ -75,6 +77,12 @@ public class ARPG extends RPG {
 
 	 @Override
 	 public void end() {
+		 super.end();
+	 }
+
+	 @Override
+	 protected int getBackgroundAreasCount() {
+		 return BACKGROUND_AREAS;
 	 }
 
 	 @Override
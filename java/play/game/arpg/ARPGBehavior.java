@@ -5,6 +5,14 @@
 
 package play.game.arpg;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 import play.game.areagame.AreaBehavior;
 import play.game.areagame.actor.Interactable;
 import play.game.areagame.handler.AreaInteractionVisitor;
@@ -17,7 +25,15 @@ import play.window.Window;
  * ARPGBehavior is a basically a map made of ARPGCells. Those cells are used for the game behavior
  */
 public class ARPGBehavior extends AreaBehavior {
-	 
+
+	/// Number of cells from which the behavior is decoded in parallel, smaller maps are not worth the tasks
+	private static final int PARALLEL_CELLS = 1 << 16;
+	/// Number of row bands per worker, balancing the load when some workers are busy
+	private static final int BANDS_PER_WORKER = 4;
+
+	/// Type of each cell as ARPGCellType ordinal, indexed by y * width + x
+	private final byte[] cellTypes;
+
 	public enum ARPGCellType{
 		NULL(0, false, false),
 		WALL(-16777216, false, false),
@@ -30,6 +46,25 @@ public class ARPGBehavior extends AreaBehavior {
 		final boolean isWalkable;
 		final boolean IS_FLYABLE;
 
+		/// Cached values, indexed by ordinal
+		private static final ARPGCellType[] TYPES = values();
+		/// Open addressing table from color to ordinal, of at least 4 slots per type hence at most a quarter full, empty slots having no ordinal
+		private static final int TABLE_MASK = Integer.highestOneBit(4 * TYPES.length - 1) * 2 - 1;
+		private static final int[] TABLE_COLORS = new int[TABLE_MASK + 1];
+		private static final byte[] TABLE_ORDINALS = new byte[TABLE_MASK + 1];
+		private static final byte NO_ORDINAL = -1;
+
+		static {
+			Arrays.fill(TABLE_ORDINALS, NO_ORDINAL);
+			for (ARPGCellType type : TYPES) {
+				int slot = slotOf(type.type);
+				while (TABLE_ORDINALS[slot] != NO_ORDINAL)
+					slot = (slot + 1) & TABLE_MASK;
+				TABLE_COLORS[slot] = type.type;
+				TABLE_ORDINALS[slot] = (byte) type.ordinal();
+			}
+		}
+
 		/**
 		 * Constructor for ARPGCellType
 		 * @param type (int) Cell type.
@@ -48,11 +83,31 @@ public class ARPGBehavior extends AreaBehavior {
 		 * @return cellType (ARPGCellType) Cell type from enum
 		 */
 		public static ARPGCellType toType(int type){
-			for(ARPGCellType ict : ARPGCellType.values()){
-				if(ict.type == type)
-					return ict;
+			return TYPES[ordinalOf(type)];
+		}
+
+		/**
+		 * Returns the ordinal of the cell type of a color
+		 * @param color (int): RGB color of a behavior pixel
+		 * @return (byte): ordinal of its cell type, the one of NULL for unknown colors
+		 */
+		static byte ordinalOf(int color) {
+			int slot = slotOf(color);
+			byte ordinal;
+			while ((ordinal = TABLE_ORDINALS[slot]) != NO_ORDINAL) {
+				if (TABLE_COLORS[slot] == color)
+					return ordinal;
+				slot = (slot + 1) & TABLE_MASK;
 			}
-			return NULL;
+			return (byte) NULL.ordinal();
+		}
+
+		/**
+		 * @param color (int): RGB color
+		 * @return (int): its first slot in the table, the colors of the types differing mostly by their high bits
+		 */
+		private static int slotOf(int color) {
+			return ((color * 0x9E3779B9) >>> 16) & TABLE_MASK;
 		}
 	}
 
@@ -65,30 +120,87 @@ public class ARPGBehavior extends AreaBehavior {
 		super(window, name);
 		int height = getHeight();
 		int width = getWidth();
-		for(int y = 0; y < height; y++) {
-			for (int x = 0; x < width ; x++) {
-				ARPGCellType cellType = ARPGCellType.toType(getRGB(height-1-y, x));
-				setCell(x,y, new ARPGCell(x,y,cellType));
+		cellTypes = new byte[width * height];
+		ARPGCell[] cells = new ARPGCell[width * height];
+		int[] pixels = getPixels();
+
+		// Rows are independent: large maps are decoded by bands of rows in parallel
+		if (width * height < PARALLEL_CELLS) {
+			decodeRows(pixels, cells, 0, height);
+		} else {
+			int bands = Math.min(height, BANDS_PER_WORKER * ForkJoinPool.getCommonPoolParallelism());
+			List<Callable<Void>> tasks = new ArrayList<>(bands);
+			for (int band = 0; band < bands; band++) {
+				final int from = (int) ((long) height * band / bands);
+				final int to = (int) ((long) height * (band + 1) / bands);
+				tasks.add(() -> {
+					decodeRows(pixels, cells, from, to);
+					return null;
+				});
+			}
+			for (Future<Void> task : ForkJoinPool.commonPool().invokeAll(tasks)) {
+				try {
+					task.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("Behavior " + name + " cannot be decoded", e.getCause());
+				}
+			}
+		}
+
+		// The behavior index is not thread safe: cells are set sequentially
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++)
+				setCell(x, y, cells[y * width + x]);
+		}
+	}
+
+	/**
+	 * Decode the types of a band of rows and create their cells
+	 * @param pixels (Array of int): colors of the behavior image, from its top row, not null
+	 * @param cells (Array of ARPGCell): receives the cells, indexed by y * width + x, not null
+	 * @param from (int): first row of the band, as y coordinate
+	 * @param to (int): row after the last one of the band, as y coordinate
+	 */
+	private void decodeRows(int[] pixels, ARPGCell[] cells, int from, int to) {
+		int height = getHeight();
+		int width = getWidth();
+		for (int y = from; y < to; y++) {
+			// The image rows go from the top, the y coordinates from the bottom
+			int row = (height - 1 - y) * width;
+			for (int x = 0; x < width; x++) {
+				cellTypes[y * width + x] = ARPGCellType.ordinalOf(pixels[row + x]);
+				cells[y * width + x] = new ARPGCell(x, y);
 			}
 		}
 	}
+
+	/**
+	 * Getter for the type of a cell
+	 * @param x (int): x coordinate of the cell, inside the behavior
+	 * @param y (int): y coordinate of the cell, inside the behavior
+	 * @return (ARPGCellType): the type of the cell, not null
+	 */
+	public ARPGCellType getCellType(int x, int y) {
+		return ARPGCellType.TYPES[cellTypes[y * getWidth() + x]];
+	}
 	
 	/**
 	 * Cell adapted to the ARPG game
 	 */
 	public class ARPGCell extends AreaBehavior.Cell {
-		/// Type of the cell following the enum
-		private final ARPGCellType type;
+		/// Index of the cell type in cellTypes
+		private final int index;
 		
 		/**
 		 * Default ARPGCell Constructor
 		 * @param x (int): x coordinate of the cell
 		 * @param y (int): y coordinate of the cell
-		 * @param type (ARPGCellType), not null
 		 */
-		private ARPGCell(int x, int y, ARPGCellType type){
+		private ARPGCell(int x, int y){
 			super(x, y);
-			this.type = type;
+			this.index = y * getWidth() + x;
 		}
 		
 		
@@ -115,6 +227,7 @@ public class ARPGBehavior extends AreaBehavior {
 //				}
 //			}
 //			return false;
+			ARPGCellType type = ARPGCellType.TYPES[cellTypes[index]];
 			if (entity instanceof FlyableEntity) {
 				return type.IS_FLYABLE;
 			}
@@ -522,6 +522,12 @@ public class ARPGPlayer extends Player implements ARPGInventory.Holder {
 		status.draw(canvas);
 	}
 
+	@Override
+	public float[] getBoundingBox() {
+		// The status and inventory are drawn relatively to the view: always draw
+		return null;
+	}
+
 	/// ARPGPlayer implements Interactor
 
 	@Override
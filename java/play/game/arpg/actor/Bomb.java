@@ -107,6 +107,12 @@ public class Bomb extends AreaEntity implements Interactor {
 
 	}
 
+	@Override
+	public boolean canSleep() {
+		// The count down must go on even far from the view
+		return false;
+	}
+
 	/*
 	 * Bomb explodes
 	 */
@@ -175,6 +181,12 @@ public class Bomb extends AreaEntity implements Interactor {
 		return fieldOfViewCells;
 	}
 
+	@Override
+	public int[] getFieldOfViewBounds() {
+		DiscreteCoordinates main = getCurrentMainCellCoordinates();
+		return new int[] { main.x - 1, main.y - 1, main.x + 1, main.y + 1 };
+	}
+
 	@Override
 	public boolean wantsCellInteraction() {
 		return isExploding && !hasExploded;
@@ -140,6 +140,7 @@ public class Bridge extends AreaEntity {
 		 */
 		public void changeBridgeSignal() {
 			Bridge.this.isVisible = (Bridge.this.isActivated()) ? Logic.FALSE : Logic.TRUE;
+			Bridge.this.notifyCellSpaceChanged();
 		}
 
 		@Override
@@ -254,7 +254,7 @@ public class DarkLord extends Monster {
 		for (int i = -FIELD_OF_VIEW_RADIUS; i <= FIELD_OF_VIEW_RADIUS; ++i) {
 			for (int j = -FIELD_OF_VIEW_RADIUS; j <= FIELD_OF_VIEW_RADIUS; ++j) {
 				if (i != 0 || j != 0) {
-					fieldOfViewCells.add(new DiscreteCoordinates(mainCellCoordinates.x + i, mainCellCoordinates.y + j));
+					fieldOfViewCells.add(getOwnerArea().getCoordinates(mainCellCoordinates.x + i, mainCellCoordinates.y + j));
 				}
 
 			}
@@ -262,6 +262,13 @@ public class DarkLord extends Monster {
 		return fieldOfViewCells;
 	}
 
+	@Override
+	public int[] getFieldOfViewBounds() {
+		DiscreteCoordinates mainCellCoordinates = this.getCurrentMainCellCoordinates();
+		return new int[] { mainCellCoordinates.x - FIELD_OF_VIEW_RADIUS, mainCellCoordinates.y - FIELD_OF_VIEW_RADIUS,
+				mainCellCoordinates.x + FIELD_OF_VIEW_RADIUS, mainCellCoordinates.y + FIELD_OF_VIEW_RADIUS };
+	}
+
 	@Override
 	public void interactWith(Interactable other) {
 		other.acceptInteraction(HANDLER);
@@ -86,7 +86,10 @@ public class Grass extends AreaEntity {
 	 * Cuts grass
 	 */
 	public void cut() {
-		isCut = true;
+		if (!isCut) {
+			isCut = true;
+			notifyCellSpaceChanged();
+		}
 	}
 
 	@Override
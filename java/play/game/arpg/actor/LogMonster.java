@@ -131,6 +131,8 @@ public class LogMonster extends Monster {
 
 		case AWAKE:
 			WAKING_UP.update(deltaTime);
+			if (WAKING_UP.isCompleted())
+				state = LogMonsterStates.IDLE;
 			break;
 
 		case ATTACK:
@@ -166,8 +168,6 @@ public class LogMonster extends Monster {
 					break;
 				case AWAKE:
 					WAKING_UP.draw(canvas);
-					if (WAKING_UP.isCompleted())
-						state = LogMonsterStates.IDLE;
 					break;
 				case IDLE:
 					LOG_MONSTER_ANIMATIONS[getOrientation().ordinal()].draw(canvas);
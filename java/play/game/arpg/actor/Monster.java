@@ -153,7 +153,10 @@ public abstract class Monster extends MovableAreaEntity implements Interactor {
 	 * sets isDead to true, indicating that said monster is dead
 	 */
 	protected void monsterDead() {
-		isDead = true;
+		if (!isDead) {
+			isDead = true;
+			notifyCellSpaceChanged();
+		}
 	}
 
 	/**
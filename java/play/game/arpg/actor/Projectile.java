@@ -43,6 +43,12 @@ public abstract class Projectile extends MovableAreaEntity implements FlyableEnt
 		move(speed);
 	}
 
+	@Override
+	public boolean canSleep() {
+		// Projectiles must keep flying until their max distance to be unregistered
+		return false;
+	}
+
 	@Override
 	public void acceptInteraction(AreaInteractionVisitor v) {
 		((ARPGInteractionVisitor) v).interactWith(this);
@@ -107,6 +107,12 @@ public class Seller extends AreaEntity implements ARPGInventory.Holder{
 		}
 
 	}
+
+	@Override
+	public float[] getBoundingBox() {
+		// The shop inventory is drawn relatively to the view: always draw it
+		return (state == ARPGSellerState.OPENING_INVENTORY) ? null : super.getBoundingBox();
+	}
 	
 	/**
 	 * Getter for state
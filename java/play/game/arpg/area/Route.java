@@ -61,6 +61,8 @@ public class Route extends ARPGArea {
 	
 	
 	private class Waterfall implements Actor {
+		/// The waterfall covers 4x4 cells from its position
+		private final float[] BOUNDING_BOX = {0, 0, 4, 4};
 		private final Sprite[] WATERFALL_SPRITES;
 		private final Animation WATERFALL_ANIMATION;
 		
@@ -91,5 +93,9 @@ public class Route extends ARPGArea {
 		public Vector getVelocity() {
 			return null;
 		}
+		@Override
+		public float[] getBoundingBox() {
+			return BOUNDING_BOX;
+		}
 	}
 }
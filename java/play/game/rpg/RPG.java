@@ -31,6 +31,17 @@ public abstract class RPG extends AreaGame {
 
         getCurrentArea().registerActor(this.player);
         getCurrentArea().setViewCandidate(this.player);
+        preloadNeighbours(getCurrentArea());
+    }
+
+    /**
+     * Preload the images of the areas the doors of the given area lead to
+     * @param area (Area): the area, not null
+     */
+    private void preloadNeighbours(Area area){
+        for (Door door : area.getActors(Door.class)) {
+            preloadArea(door.getDestination());
+        }
     }
 
     protected Player getPlayer(){
@@ -53,6 +64,7 @@ public abstract class RPG extends AreaGame {
             player.leaveArea();
             Area area = setCurrentArea(door.getDestination(), false);
             player.enterArea(area, door.getOtherSideCoordinates());
+            preloadNeighbours(area);
         }
 
         super.update(deltaTime);
@@ -60,5 +72,6 @@ public abstract class RPG extends AreaGame {
 
     @Override
     public void end() {
+        super.end();
     }
 }
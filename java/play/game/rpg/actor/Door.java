@@ -129,6 +129,7 @@ public class Door extends AreaEntity {
     
     protected void setSignal(Logic signal){
     	this.signal = signal;
+    	notifyCellSpaceChanged();
     }
     
   
@@ -0,0 +1,250 @@
+package play.io;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of file system cascading through several backends, tried in order.
+ * The backend owning each name is remembered, and so are the names found nowhere:
+ * a name is searched for once, later reads going straight to its backend or failing immediately.
+ * A backend is considered not to have a file only when it reports it as not found
+ * (NoSuchFileException or FileNotFoundException): any other error is thrown without being remembered.
+ * Reads are counted by backend, with the bytes read and the time spent.
+ * Backends should not have their own fallback (i.e. use DefaultFileSystem) for the owners to be exact.
+ * Note: safe to use from several threads
+ */
+public class CachingFileSystem implements FileSystem {
+
+    /**
+     * Read counters of a backend
+     */
+    public static final class Statistics {
+
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Statistics() {}
+
+        /** @return (long): number of successful reads */
+        public long getReads() {
+            return reads.sum();
+        }
+
+        /** @return (long): number of names searched for and not found */
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        /** @return (long): number of bytes read, streams counting only what was actually consumed */
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        /** @return (long): time spent opening files, or reading them whole with readBytes, in nanoseconds */
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        @Override
+        public String toString() {
+            return getReads() + " reads, " + getMisses() + " misses, " + getBytes() + " bytes, " + (getNanos() / 1000000) + " ms";
+        }
+    }
+
+    private final List<FileSystem> backends;
+    private final List<Statistics> statistics;
+    /// Index of the backend owning each name found
+    private final Map<String, Integer> owners;
+    /// Names found in no backend
+    private final Set<String> missing;
+    /// Number of reads answered by the cache of missing names
+    private final LongAdder cachedMisses;
+
+    /**
+     * Creates a new file system over the given backends.
+     * @param backends (Array of FileSystem): backends, in search order, not null
+     */
+    public CachingFileSystem(FileSystem... backends) {
+        if (backends.length == 0)
+            throw new IllegalArgumentException("At least one backend is needed");
+        List<FileSystem> list = new ArrayList<>();
+        List<Statistics> counters = new ArrayList<>();
+        for (FileSystem backend : backends) {
+            if (backend == null)
+                throw new NullPointerException();
+            list.add(backend);
+            counters.add(new Statistics());
+        }
+        this.backends = Collections.unmodifiableList(list);
+        this.statistics = Collections.unmodifiableList(counters);
+        owners = new ConcurrentHashMap<>();
+        missing = ConcurrentHashMap.newKeySet();
+        cachedMisses = new LongAdder();
+    }
+
+    /**
+     * Getter for the counters of a backend
+     * @param index (int): index of the backend, in search order
+     * @return (Statistics): its counters, not null
+     */
+    public Statistics getStatistics(int index) {
+        return statistics.get(index);
+    }
+
+    /** @return (int): number of backends */
+    public int getBackendCount() {
+        return backends.size();
+    }
+
+    /** @return (long): number of reads of missing names answered without searching the backends */
+    public long getCachedMisses() {
+        return cachedMisses.sum();
+    }
+
+    /** Forget the owners and the missing names, e.g. after files were added to a backend */
+    public void invalidate() {
+        owners.clear();
+        missing.clear();
+    }
+
+    @Override
+    public InputStream read(String name) throws IOException {
+        return open(name, false).stream;
+    }
+
+    @Override
+    public ByteBuffer readBytes(String name) throws IOException {
+        return open(name, true).content;
+    }
+
+    @Override
+    public OutputStream write(String name) throws IOException {
+        IOException error = null;
+        for (int i = 0; i < backends.size(); ++i) {
+            try {
+                OutputStream output = backends.get(i).write(name);
+                // Read it back from where it is written
+                owners.put(name, i);
+                missing.remove(name);
+                return output;
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        throw error;
+    }
+
+    /**
+     * Result of a read, either a stream or a whole content
+     */
+    private static final class Opened {
+
+        InputStream stream;
+        ByteBuffer content;
+    }
+
+    /**
+     * Open a file from its owner, searching for it if unknown
+     * @param name (String): unique identifier, not null
+     * @param whole (boolean): true to read the whole content, false to open a stream
+     * @return (Opened): the stream or the content, not null
+     * @throws IOException if the file is missing or cannot be read
+     */
+    private Opened open(String name, boolean whole) throws IOException {
+        Integer owner = owners.get(name);
+        if (owner != null)
+            return open(owner, name, whole);
+        if (missing.contains(name)) {
+            cachedMisses.increment();
+            throw new NoSuchFileException(name);
+        }
+
+        // Unknown yet: the first backend able to read it owns it
+        // Only a file not found is remembered as missing, other errors may not last and are reported as is
+        for (int i = 0; i < backends.size(); ++i) {
+            try {
+                Opened opened = open(i, name, whole);
+                owners.put(name, i);
+                return opened;
+            } catch (NoSuchFileException | FileNotFoundException e) {
+                statistics.get(i).misses.increment();
+            }
+        }
+        missing.add(name);
+        throw new NoSuchFileException(name);
+    }
+
+    /**
+     * Open a file from a given backend, counting the read
+     * @param index (int): index of the backend
+     * @param name (String): unique identifier, not null
+     * @param whole (boolean): true to read the whole content, false to open a stream
+     * @return (Opened): the stream or the content, not null
+     * @throws IOException if the backend cannot read the file
+     */
+    private Opened open(int index, String name, boolean whole) throws IOException {
+        final Statistics counters = statistics.get(index);
+        final FileSystem backend = backends.get(index);
+        final Opened opened = new Opened();
+        final long start = System.nanoTime();
+        if (whole) {
+            opened.content = backend.readBytes(name);
+            counters.bytes.add(opened.content.remaining());
+        } else {
+            opened.stream = new CountingInputStream(backend.read(name), counters.bytes);
+        }
+        counters.nanos.add(System.nanoTime() - start);
+        counters.reads.increment();
+        return opened;
+    }
+
+    /**
+     * Stream adding the number of bytes consumed to a counter
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final LongAdder bytes;
+
+        CountingInputStream(InputStream input, LongAdder bytes) {
+            super(input);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0)
+                bytes.increment();
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0)
+                bytes.add(count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = super.skip(count);
+            bytes.add(skipped);
+            return skipped;
+        }
+    }
+}
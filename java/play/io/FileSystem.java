@@ -1,8 +1,10 @@
 package play.io;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Represents a simple file system, where each file is associated to a unique name.
@@ -16,6 +18,24 @@ public interface FileSystem {
      * @throws IOException if file cannot be open for read
      */
     InputStream read(String name) throws IOException;
+
+    /**
+     * Read the whole content of an existing file.
+     * Implementations may return a read-only view of a memory mapped file instead of a copy
+     * @param name (String): unique identifier, not null
+     * @return (ByteBuffer): the content, from its position to its limit, not null
+     * @throws IOException if file cannot be open for read
+     */
+    default ByteBuffer readBytes(String name) throws IOException {
+        try (InputStream input = read(name)) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] chunk = new byte[1 << 16];
+            int count;
+            while ((count = input.read(chunk)) > 0)
+                content.write(chunk, 0, count);
+            return ByteBuffer.wrap(content.toByteArray());
+        }
+    }
     
     /**
      * Open file for write, previous content overwritten if any.
@@ -6,12 +6,18 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * Implementation of file system, mirroring actual files on disk.
  */
 public class FolderFileSystem implements FileSystem {
 
+    /// Files smaller than this are copied rather than memory mapped, mapping having a fixed cost
+    private static final int MIN_MAPPED_SIZE = 1 << 16;
+
     private FileSystem fallback;
     private File folder;
 
@@ -41,13 +47,20 @@ public class FolderFileSystem implements FileSystem {
         // If parent is null then the new File instance is created as if by invoking the single-argument
         // File constructor on the given child pathname string.
         File file = new File(folder, name);
-        System.out.println(file.getAbsolutePath());
         if (file.canRead()) {
             return new FileInputStream(file);
         }
         return fallback.read(name);
     }
 
+    @Override
+    public ByteBuffer readBytes(String name) throws IOException {
+        File file = new File(folder, name);
+        if (file.canRead())
+            return map(file);
+        return fallback.readBytes(name);
+    }
+
     @Override
     public OutputStream write(String name) throws IOException {
         // If parent is null then the new File instance is created as if by invoking the single-argument
@@ -57,4 +70,26 @@ public class FolderFileSystem implements FileSystem {
             return new FileOutputStream(file);
         return fallback.write(name);
     }
+
+    /**
+     * Read the whole content of a file, memory mapped if large enough
+     * @param file (File): a readable file, not null
+     * @return (ByteBuffer): the content, read-only if mapped, not null
+     * @throws IOException if the file cannot be read
+     */
+    static ByteBuffer map(File file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            FileChannel channel = input.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("File too large: " + file);
+            // The mapping stays valid once the channel is closed
+            if (size >= MIN_MAPPED_SIZE)
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer content = ByteBuffer.allocate((int) size);
+            while (content.hasRemaining() && channel.read(content) >= 0);
+            content.flip();
+            return content;
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package play.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Read-only implementation of file system, providing access to a memory mapped ZIP archive.
+ * The central directory is indexed once when opened. Stored entries are then served without any copy,
+ * as views of the mapped archive, and deflated entries are inflated in a single pass.
+ * Archives larger than 2 GB, ZIP64 and encrypted entries are not supported.
+ * Note: safe to use from several threads
+ */
+public class MappedZipFileSystem implements FileSystem {
+
+    /// Signatures of the records of the archive
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int DIRECTORY_HEADER = 0x02014b50;
+    private static final int DIRECTORY_END = 0x06054b50;
+    /// Sizes of the fixed part of the records
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int DIRECTORY_HEADER_SIZE = 46;
+    private static final int DIRECTORY_END_SIZE = 22;
+    /// Compression methods
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    /**
+     * Location of a file in the archive
+     */
+    private static final class Entry {
+
+        final int method;
+        /// Position of the data in the archive, then its sizes
+        final int offset;
+        final int compressedSize, size;
+
+        private Entry(int method, int offset, int compressedSize, int size) {
+            this.method = method;
+            this.offset = offset;
+            this.compressedSize = compressedSize;
+            this.size = size;
+        }
+    }
+
+    private final FileSystem fallback;
+    /// Mapped archive, only read through duplicates
+    private final ByteBuffer archive;
+    /// Files by name, never modified once opened
+    private final Map<String, Entry> entries;
+
+    /**
+     * Opens a ZIP archive as a file system.
+     * @param fallback (FileSystem): secondary file system used on error, not null
+     * @param file (File): the archive, not null
+     * @throws IOException if the archive cannot be read or is not a supported ZIP archive
+     */
+    public MappedZipFileSystem(FileSystem fallback, File file) throws IOException {
+        if (fallback == null || file == null)
+            throw new NullPointerException();
+        this.fallback = fallback;
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            FileChannel channel = input.getChannel();
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new ZipException("Archive too large: " + file);
+            archive = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        entries = Collections.unmodifiableMap(index(archive));
+    }
+
+    /**
+     * Index the files of an archive from its central directory
+     * @param archive (ByteBuffer): the whole archive, little endian, not null
+     * @return (Map of String, Entry): the files by name, not null
+     * @throws ZipException if the archive is invalid or not supported
+     */
+    private static Map<String, Entry> index(ByteBuffer archive) throws ZipException {
+        // The end record is last, followed by a comment of at most 65535 bytes
+        int end = archive.limit() - DIRECTORY_END_SIZE;
+        int first = Math.max(0, end - 0xFFFF);
+        while (end >= first && archive.getInt(end) != DIRECTORY_END)
+            --end;
+        if (end < first)
+            throw new ZipException("End of central directory not found");
+        int count = archive.getShort(end + 10) & 0xFFFF;
+        long directory = archive.getInt(end + 16) & 0xFFFFFFFFL;
+        if (count == 0xFFFF || directory == 0xFFFFFFFFL)
+            throw new ZipException("ZIP64 archives are not supported");
+
+        Map<String, Entry> entries = new HashMap<>(2 * count);
+        try {
+            int record = (int) directory;
+            for (int i = 0; i < count; ++i) {
+                if (archive.getInt(record) != DIRECTORY_HEADER)
+                    throw new ZipException("Invalid central directory");
+                int flags = archive.getShort(record + 8) & 0xFFFF;
+                int method = archive.getShort(record + 10) & 0xFFFF;
+                long compressedSize = archive.getInt(record + 20) & 0xFFFFFFFFL;
+                long size = archive.getInt(record + 24) & 0xFFFFFFFFL;
+                int nameLength = archive.getShort(record + 28) & 0xFFFF;
+                int extraLength = archive.getShort(record + 30) & 0xFFFF;
+                int commentLength = archive.getShort(record + 32) & 0xFFFF;
+                long header = archive.getInt(record + 42) & 0xFFFFFFFFL;
+
+                byte[] name = new byte[nameLength];
+                ByteBuffer view = archive.duplicate();
+                view.position(record + DIRECTORY_HEADER_SIZE);
+                view.get(name);
+                record += DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+
+                // Directories have no content, and other methods cannot be read
+                if (nameLength > 0 && name[nameLength - 1] == '/')
+                    continue;
+                if ((flags & 1) != 0 || (method != STORED && method != DEFLATED))
+                    continue;
+                if (compressedSize > Integer.MAX_VALUE || size > Integer.MAX_VALUE || header > Integer.MAX_VALUE)
+                    throw new ZipException("ZIP64 archives are not supported");
+
+                // The local header may have another extra field than the central one
+                int local = (int) header;
+                if (archive.getInt(local) != LOCAL_HEADER)
+                    throw new ZipException("Invalid local header");
+                int offset = local + LOCAL_HEADER_SIZE + (archive.getShort(local + 26) & 0xFFFF) + (archive.getShort(local + 28) & 0xFFFF);
+                if (offset + compressedSize > archive.limit())
+                    throw new ZipException("Truncated archive");
+                entries.put(new String(name, StandardCharsets.UTF_8), new Entry(method, offset, (int) compressedSize, (int) size));
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new ZipException("Truncated central directory");
+        }
+        return entries;
+    }
+
+    /** @return (Set of String): names of the files of the archive, not null */
+    public Set<String> getNames() {
+        return entries.keySet();
+    }
+
+    @Override
+    public InputStream read(String name) throws IOException {
+        Entry entry = entries.get(name);
+        if (entry == null)
+            return fallback.read(name);
+        ByteBuffer content = content(name, entry);
+        if (content.hasArray())
+            return new ByteArrayInputStream(content.array(), content.arrayOffset() + content.position(), content.remaining());
+        return new BufferInputStream(content);
+    }
+
+    @Override
+    public ByteBuffer readBytes(String name) throws IOException {
+        Entry entry = entries.get(name);
+        if (entry == null)
+            return fallback.readBytes(name);
+        return content(name, entry);
+    }
+
+    /**
+     * Getter for the content of a file
+     * @param name (String): name of the file, not null
+     * @param entry (Entry): location of the file, not null
+     * @return (ByteBuffer): a read-only view of the archive if stored, a new buffer if deflated, not null
+     * @throws ZipException if the file cannot be inflated
+     */
+    private ByteBuffer content(String name, Entry entry) throws ZipException {
+        ByteBuffer data = archive.duplicate();
+        data.position(entry.offset);
+        data.limit(entry.offset + entry.compressedSize);
+        if (entry.method == STORED)
+            return data.slice();
+
+        byte[] compressed = new byte[entry.compressedSize];
+        data.get(compressed);
+        byte[] content = new byte[entry.size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < content.length) {
+                int count = inflater.inflate(content, length, content.length - length);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+                    throw new ZipException("Truncated entry: " + name);
+                length += count;
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Invalid entry: " + name);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(content);
+    }
+
+    @Override
+    public OutputStream write(String name) throws IOException {
+        return fallback.write(name);
+    }
+
+    /**
+     * Stream reading a buffer, from its position to its limit
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0)
+                return 0;
+            if (!buffer.hasRemaining())
+                return -1;
+            length = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, length);
+            return length;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
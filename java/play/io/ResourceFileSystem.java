@@ -1,8 +1,12 @@
 package play.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
 
 /**
  * Read-only implementation of file system, using native resources bundled with binaries.
@@ -41,6 +45,22 @@ public class ResourceFileSystem implements FileSystem {
         return fallback.read(name);
     }
 
+    @Override
+    public ByteBuffer readBytes(String name) throws IOException {
+        URL url = loader.getResource(name);
+        if (url == null)
+            return fallback.readBytes(name);
+        // Resources in a folder are plain files, which can be mapped
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return FolderFileSystem.map(new File(url.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // Read it as a stream instead
+            }
+        }
+        return FileSystem.super.readBytes(name);
+    }
+
     @Override
     public OutputStream write(String name) throws IOException {
         return fallback.write(name);
@@ -3,6 +3,7 @@ package play.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -34,6 +35,13 @@ public class ZipFileSystem implements FileSystem {
         return fallback.read(name);
     }
 
+    @Override
+    public ByteBuffer readBytes(String name) throws IOException {
+        if (zip.getEntry(name) != null)
+            return FileSystem.super.readBytes(name);
+        return fallback.readBytes(name);
+    }
+
     @Override
     public OutputStream write(String name) throws IOException {
         return fallback.write(name);
@@ -70,7 +70,6 @@ public final class Circle extends Shape {
 
     @Override
     public Path2D toPath() {
-        //  simple implementation without caching
         Ellipse2D ellipse = new Ellipse2D.Float(
             center.x - radius,
 		    center.y - radius,
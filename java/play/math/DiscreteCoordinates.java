@@ -84,6 +84,37 @@ public final class DiscreteCoordinates implements Serializable {
     }
 
 
+    /**
+     * Pack a coordinate pair into a single long, useful as an allocation free key
+     * @param x (int): The column index
+     * @param y (int): The row index
+     * @return (long): x in the 32 high bits, y in the 32 low bits
+     */
+    public static long pack(int x, int y){
+        return ((long)x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param packed (long): coordinates packed with pack(x, y)
+     * @return (int): the column index of the packed coordinates
+     */
+    public static int unpackX(long packed){
+        return (int)(packed >> 32);
+    }
+
+    /**
+     * @param packed (long): coordinates packed with pack(x, y)
+     * @return (int): the row index of the packed coordinates
+     */
+    public static int unpackY(long packed){
+        return (int)packed;
+    }
+
+    /** @return (long): this coordinates packed into a single long, see pack(x, y) */
+    public long toPacked(){
+        return pack(x, y);
+    }
+
     /**@return (Vector): convert coordinates into continuous vector*/
     public Vector toVector(){
         return new Vector(x, y);
@@ -123,7 +154,9 @@ public final class DiscreteCoordinates implements Serializable {
 
     @Override
     public int hashCode() {
-        return Integer.hashCode(y) ^ Integer.hashCode(x);
+        // Mix the packed coordinates, x ^ y would collide on every diagonal
+        long h = toPacked() * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32));
     }
 
     @Override
@@ -0,0 +1,114 @@
+package play.math;
+
+/**
+ * Table of interned DiscreteCoordinates for a bounded grid of width x height cells.
+ * Each in-bounds coordinate pair is represented by a single shared instance,
+ * which avoid allocating new coordinates every time an entity moves.
+ * Coordinates out of the bounds are not interned and a new instance is returned instead
+ */
+public final class DiscreteCoordinatesTable {
+
+    /// Dimension of the grid
+    private final int width, height;
+    /// Flyweights, indexed by y * width + x
+    private final DiscreteCoordinates[] coordinates;
+
+    /**
+     * Default DiscreteCoordinatesTable constructor
+     * @param width (int): number of columns, not negative
+     * @param height (int): number of rows, not negative
+     */
+    public DiscreteCoordinatesTable(int width, int height) {
+        if (width < 0 || height < 0)
+            throw new IllegalArgumentException("Negative dimension");
+        this.width = width;
+        this.height = height;
+        coordinates = new DiscreteCoordinates[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                coordinates[y * width + x] = new DiscreteCoordinates(x, y);
+            }
+        }
+    }
+
+    /** @return (int): number of columns of the table */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return (int): number of rows of the table */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Indicate if the given coordinates are inside the table bounds
+     * @param x (int): The column index
+     * @param y (int): The row index
+     * @return (boolean): true if the coordinates are interned by this table
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Compute the flat index of the given in-bounds coordinates
+     * @param x (int): The column index
+     * @param y (int): The row index
+     * @return (int): the index y * width + x, or -1 if out of bounds
+     */
+    public int indexOf(int x, int y) {
+        return contains(x, y) ? y * width + x : -1;
+    }
+
+    /**
+     * Getter for the coordinates at the given flat index
+     * @param index (int): flat index as given by indexOf, in bounds
+     * @return (DiscreteCoordinates): the interned coordinates, not null
+     */
+    public DiscreteCoordinates getAt(int index) {
+        return coordinates[index];
+    }
+
+    /**
+     * Getter for the coordinates (x, y)
+     * @param x (int): The column index
+     * @param y (int): The row index
+     * @return (DiscreteCoordinates): the interned coordinates if in bounds, a new instance otherwise
+     */
+    public DiscreteCoordinates get(int x, int y) {
+        if (contains(x, y))
+            return coordinates[y * width + x];
+        return new DiscreteCoordinates(x, y);
+    }
+
+    /**
+     * Getter for the packed coordinates
+     * @param packed (long): coordinates packed with DiscreteCoordinates.pack(x, y)
+     * @return (DiscreteCoordinates): the interned coordinates if in bounds, a new instance otherwise
+     */
+    public DiscreteCoordinates getPacked(long packed) {
+        return get(DiscreteCoordinates.unpackX(packed), DiscreteCoordinates.unpackY(packed));
+    }
+
+    /**
+     * Make a jump from the given coordinates
+     * @param from (DiscreteCoordinates): the starting coordinates, not null
+     * @param dx (int): the delta x
+     * @param dy (int): the delta y
+     * @return (DiscreteCoordinates): the coordinates after the jump, interned if in bounds
+     */
+    public DiscreteCoordinates jump(DiscreteCoordinates from, int dx, int dy) {
+        return get(from.x + dx, from.y + dy);
+    }
+
+    /**
+     * Make a jump from the given coordinates
+     * @param from (DiscreteCoordinates): the starting coordinates, not null
+     * @param delta (Vector): to define the length and the direction of the jump. Not null
+     * @return (DiscreteCoordinates): the coordinates after the jump, interned if in bounds
+     */
+    public DiscreteCoordinates jump(DiscreteCoordinates from, Vector delta) {
+        return get(from.x + (int)delta.x, from.y + (int)delta.y);
+    }
+}
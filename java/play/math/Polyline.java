@@ -139,7 +139,6 @@ public final class Polyline extends Shape {
 
     @Override
     public Path2D toPath() {
-    	// simple implementation without caching
         Path2D path = new Path2D.Float();
 		Vector point = points.get(0);
 		path.moveTo(point.x, point.y);
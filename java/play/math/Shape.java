@@ -6,6 +6,9 @@ import java.awt.geom.Path2D;
  * Base class of all physical shapes.
  */
 public abstract class Shape {
+
+    /// Path of the shape, built once since shapes are immutable
+    private Path2D path;
         
     /** @return shape area */
     public abstract float getArea();
@@ -24,6 +27,17 @@ public abstract class Shape {
      */
     public abstract Vector sample();
     
-    /** @return (Path2D): AWT path used for drawing */
+    /** @return (Path2D): AWT path used for drawing, a new one for each call, not null */
     public abstract Path2D toPath();
+
+    /**
+     * Getter for the path of the shape, built on the first call only
+     * Note: the path is shared, it must not be modified
+     * @return (Path2D): AWT path used for drawing, not null
+     */
+    public Path2D getPath() {
+        if (path == null)
+            path = toPath();
+        return path;
+    }
 }
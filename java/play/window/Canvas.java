@@ -3,6 +3,7 @@ package play.window;
 import play.math.*;
 
 import java.awt.Color;
+import java.util.Collection;
 
 /**
  * Represents a rendering context, with various drawing capabilities.
@@ -19,6 +20,22 @@ public interface Canvas extends Positionable {
      */
     Image getImage(String name, RegionOfInterest roi, boolean removeBackground);
 
+    /**
+     * Announces images soon needed, e.g. by the next area: the canvas may decode them in background
+     * so that their first getImage does not stall. By default nothing is done, they are loaded on first use
+     * @param names (Collection of String): full names of the images, not null
+     */
+    default void preloadImages(Collection<String> names) {
+    }
+
+    /**
+     * Announces the images to keep loaded, e.g. the ones of the current area, replacing the previous ones
+     * A canvas bounding the memory of its images then releases others first. By default nothing is done
+     * @param names (Collection of String): full names of the images, not null
+     */
+    default void pinImages(Collection<String> names) {
+    }
+
     /**
      * Draws specified image.
      * @param image (Image): any image associated to this context, may be null
@@ -40,6 +57,33 @@ public interface Canvas extends Positionable {
      */
     void drawShape(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth);
 
+    /**
+     * Draws specified image, which does not change from frame to frame (e.g. an area background)
+     * The canvas may cache its rendering until the view scale changes, by default it is drawn as any image
+     * @param image (Image): any image associated to this context, may be null
+     * @param transform (Transform): any affine transform, not null
+     * @param alpha (float): transparency, between 0.0 and 1.0
+     * @param depth (float): any real, larger values are drawn afterward, i.e. above
+     */
+    default void drawStaticImage(Image image, Transform transform, float alpha, float depth) {
+        drawImage(image, transform, alpha, depth);
+    }
+
+    /**
+     * Draws specified shape, which does not change from frame to frame (e.g. a grid)
+     * The canvas may cache its rendering until the view scale changes, by default it is drawn as any shape
+     * @param shape (Shape): any shape, may be null
+     * @param transform (Transform): any affine transform, not null
+     * @param fillColor (Color): color used to fill the shape, may be null
+     * @param outlineColor (Color): color used to draw shape border, may be null
+     * @param thickness (float): border thickness
+     * @param alpha (float): transparency, between 0.0 and 1.0
+     * @param depth (float): any real, larger values are drawn afterward, i.e. above
+     */
+    default void drawStaticShape(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
+        drawShape(shape, transform, fillColor, outlineColor, thickness, alpha, depth);
+    }
+
     /**
      * Creates a new text graphics.
      * @param text (String): content, not null
@@ -19,4 +19,19 @@ public interface Image {
      */
     int getRGB(int r, int c);
 
+    /**
+     * Color getter of all the pixels at once, cheaper than a getRGB call per pixel
+     * @return (Array of int): RGB colors of the pixels, row after row from row 0, a new array
+     */
+    default int[] getPixels() {
+        final int width = getWidth();
+        final int height = getHeight();
+        final int[] pixels = new int[width * height];
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++)
+                pixels[r * width + c] = getRGB(r, c);
+        }
+        return pixels;
+    }
+
 }
@@ -24,7 +24,14 @@ public interface Window extends Canvas, Audio, Attachable {
     
     // additional update with delta time parameter can be added if wanted
     // e.g. for mouse interpolation
+    /** Renders the items drawn since last update, then polls the input devices */
     void update();
+
+    /**
+     * Polls the input devices without rendering anything
+     * Useful when several game updates are done before a single render
+     */
+    void pollInput();
     
     /** Destroys and closes the window */
     void dispose();
@@ -0,0 +1,66 @@
+package play.window.headless;
+
+import play.math.RegionOfInterest;
+import play.window.Image;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Headless implementation of an image: decoded pixels, never rendered.
+ */
+public final class HeadlessImage implements Image {
+
+    /// Pixels of the image, possibly a region shared with its whole sheet
+    private final BufferedImage image;
+
+    /**
+     * Creates an image from a region of a decoded sheet
+     * @param sheet (BufferedImage): the whole sheet, not null
+     * @param roi (RegionOfInterest): rectangle of interest in the sheet, may be null for the whole sheet
+     * @param removeBackground (boolean): which indicate if need to remove an uniform background
+     */
+    HeadlessImage(BufferedImage sheet, RegionOfInterest roi, boolean removeBackground) {
+        BufferedImage region = sheet;
+        if (roi != null) {
+            int width = Math.min(sheet.getWidth() - roi.x, roi.w);
+            int height = Math.min(sheet.getHeight() - roi.y, roi.h);
+            region = sheet.getSubimage(roi.x, roi.y, width, height);
+        }
+        if (removeBackground) {
+            // The background color depends on the region: it needs its own copy
+            final int w = region.getWidth();
+            final int h = region.getHeight();
+            final int[] rgb = region.getRGB(0, 0, w, h, null, 0, w);
+            final int backgroundRGB = rgb[0];
+            for (int i = 0; i < rgb.length; i++) {
+                if (rgb[i] == backgroundRGB)
+                    rgb[i] = 0;
+            }
+            region = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            region.setRGB(0, 0, w, h, rgb, 0, w);
+        }
+        this.image = region;
+    }
+
+    /// HeadlessImage implements Image
+
+    @Override
+    public int getWidth() {
+        return image.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return image.getHeight();
+    }
+
+    @Override
+    public int getRGB(int r, int c) {
+        return image.getRGB(c, r);
+    }
+
+    @Override
+    public int[] getPixels() {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+}
@@ -0,0 +1,422 @@
+package play.window.headless;
+
+import play.io.FileSystem;
+import play.math.Node;
+import play.math.RegionOfInterest;
+import play.math.Shape;
+import play.math.TextAlign;
+import play.math.Transform;
+import play.math.Vector;
+import play.window.Button;
+import play.window.Image;
+import play.window.Keyboard;
+import play.window.Mouse;
+import play.window.Sound;
+import play.window.Window;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.imageio.ImageIO;
+
+/**
+ * Window without display, for simulations, soak tests and benchmarks on machines without screen.
+ * Images are decoded (area behaviors need their pixels) but draws are only counted, and sounds are ignored.
+ * Inputs are scripted: keys and mouse buttons are pressed and released by the program,
+ * immediately or at a given frame, and applied by the next poll as real inputs would be.
+ */
+public final class HeadlessWindow extends Node implements Window {
+
+    /// The window always has the focus
+    private static final Button FOCUSED = new Button(true);
+
+    /// File system
+    private final FileSystem fileSystem;
+    /// Size of the simulated canvas, in pixels
+    private final int width, height;
+
+    /// Decoded sheets, and images of their regions
+    private final Map<String, BufferedImage> sheets;
+    private final Map<String, HeadlessImage> images;
+
+    /// Scripted actions by frame, and number of frames updated since the creation
+    private final TreeMap<Long, List<Runnable>> script;
+    private long frames;
+
+    /// Draw counters of the frame being drawn, of the last updated frame, and since the creation
+    private int pendingImages, pendingShapes, pendingTexts;
+    private int frameImages, frameShapes, frameTexts;
+    private long drawnImages, drawnShapes, drawnTexts;
+
+    /// State information
+    private boolean closeRequested;
+    private final ScriptedMouse mouse;
+    private final ScriptedKeyboard keyboard;
+
+    /**
+     * Scripted mouse: the button states are buffered until the next poll
+     */
+    private static final class ScriptedMouse implements Mouse {
+
+        private int previous = 0;
+        private int current = 0;
+        private int buffer = 0;
+        private Vector position = Vector.ZERO;
+
+        @Override
+        public Vector getPosition() {
+            return position;
+        }
+
+        @Override
+        public Button getButton(int index) {
+            int mask = 1 << index;
+            return new Button((previous & mask) != 0, (current & mask) != 0);
+        }
+
+        @Override
+        public Vector getVelocity() {
+            return Vector.ZERO;
+        }
+    }
+
+    /**
+     * Scripted keyboard: the key states are buffered until the next poll
+     */
+    private static final class ScriptedKeyboard implements Keyboard {
+
+        private Set<Integer> previous = new HashSet<>();
+        private Set<Integer> current = new HashSet<>();
+        private Set<Integer> buffer = new HashSet<>();
+        private int lastBufferAdd = -1;
+        private int lastPressed = -1;
+
+        @Override
+        public Button get(int code) {
+            return new Button(previous.contains(code), current.contains(code), code == lastPressed);
+        }
+    }
+
+    /**
+     * Creates a new headless window.
+     * @param fileSystem (FileSystem): source used to load images
+     * @param width (int): width in pixel of the simulated canvas
+     * @param height (int): height in pixel of the simulated canvas
+     */
+    public HeadlessWindow(FileSystem fileSystem, int width, int height) {
+        this.fileSystem = fileSystem;
+        this.width = width;
+        this.height = height;
+        sheets = new HashMap<>();
+        images = new HashMap<>();
+        script = new TreeMap<>();
+        mouse = new ScriptedMouse();
+        keyboard = new ScriptedKeyboard();
+    }
+
+    /// Scripted inputs, taken into account by the next poll
+
+    /**
+     * Press a key
+     * @param code (int): code of the key, see Keyboard
+     */
+    public void pressKey(int code) {
+        keyboard.buffer.add(code);
+        keyboard.lastBufferAdd = code;
+    }
+
+    /**
+     * Release a key
+     * @param code (int): code of the key, see Keyboard
+     */
+    public void releaseKey(int code) {
+        keyboard.buffer.remove(code);
+        if (code == keyboard.lastBufferAdd)
+            keyboard.lastBufferAdd = -1;
+    }
+
+    /**
+     * Press a mouse button
+     * @param index (int): index of the button, 0 for the left one
+     */
+    public void pressMouseButton(int index) {
+        mouse.buffer |= 1 << index;
+    }
+
+    /**
+     * Release a mouse button
+     * @param index (int): index of the button, 0 for the left one
+     */
+    public void releaseMouseButton(int index) {
+        mouse.buffer &= ~(1 << index);
+    }
+
+    /**
+     * Move the mouse pointer
+     * @param position (Vector): new position, in world coordinates, not null
+     */
+    public void setMousePosition(Vector position) {
+        if (position == null)
+            throw new NullPointerException();
+        mouse.position = position;
+    }
+
+    /**
+     * Schedule an action, e.g. pressing a key, before the poll of the given frame
+     * @param frame (long): index of the frame, the first one is 0
+     * @param action (Runnable): the action, not null
+     */
+    public void schedule(long frame, Runnable action) {
+        script.computeIfAbsent(frame, key -> new ArrayList<>()).add(action);
+    }
+
+    /** Request the window closing, as a user would do */
+    public void requestClose() {
+        closeRequested = true;
+    }
+
+    /// Counters
+
+    /** @return (long): number of frames updated since the creation */
+    public long getFrameCount() {
+        return frames;
+    }
+
+    /** @return (int): number of images drawn in the last updated frame */
+    public int getFrameImagesCount() {
+        return frameImages;
+    }
+
+    /** @return (int): number of shapes drawn in the last updated frame */
+    public int getFrameShapesCount() {
+        return frameShapes;
+    }
+
+    /** @return (int): number of texts drawn in the last updated frame */
+    public int getFrameTextsCount() {
+        return frameTexts;
+    }
+
+    /** @return (long): number of images drawn since the creation */
+    public long getDrawnImagesCount() {
+        return drawnImages;
+    }
+
+    /** @return (long): number of shapes drawn since the creation */
+    public long getDrawnShapesCount() {
+        return drawnShapes;
+    }
+
+    /** @return (long): number of texts drawn since the creation */
+    public long getDrawnTextsCount() {
+        return drawnTexts;
+    }
+
+    /// HeadlessWindow implements Window
+
+    @Override
+    public Button getFocus() {
+        return FOCUSED;
+    }
+
+    @Override
+    public Mouse getMouse() {
+        return mouse;
+    }
+
+    @Override
+    public Keyboard getKeyboard() {
+        return keyboard;
+    }
+
+    @Override
+    public boolean isCloseRequested() {
+        return closeRequested;
+    }
+
+    @Override
+    public void update() {
+        // Nothing is rendered: only count the draws of the frame
+        frameImages = pendingImages;
+        frameShapes = pendingShapes;
+        frameTexts = pendingTexts;
+        drawnImages += pendingImages;
+        drawnShapes += pendingShapes;
+        drawnTexts += pendingTexts;
+        pendingImages = 0;
+        pendingShapes = 0;
+        pendingTexts = 0;
+        ++frames;
+        pollInput();
+    }
+
+    @Override
+    public void pollInput() {
+        // Run the actions scheduled up to the current frame
+        while (!script.isEmpty() && script.firstKey() <= frames) {
+            for (Runnable action : script.pollFirstEntry().getValue())
+                action.run();
+        }
+
+        // Update mouse buttons
+        mouse.previous = mouse.current;
+        mouse.current = mouse.buffer;
+
+        // Update keyboard buttons
+        final Set<Integer> tmp = keyboard.previous;
+        keyboard.previous = keyboard.current;
+        keyboard.current = keyboard.buffer;
+        keyboard.lastPressed = keyboard.lastBufferAdd;
+        keyboard.buffer = tmp;
+        keyboard.buffer.clear();
+        keyboard.buffer.addAll(keyboard.current);
+    }
+
+    @Override
+    public void dispose() {
+        sheets.clear();
+        images.clear();
+        script.clear();
+    }
+
+    /// HeadlessWindow implements Canvas
+
+    @Override
+    public Image getImage(String name, RegionOfInterest roi, boolean removeBackground) {
+        String key = name + roi + removeBackground;
+        HeadlessImage image = images.get(key);
+        if (image == null && !images.containsKey(key)) {
+            BufferedImage sheet = getSheet(name);
+            if (sheet != null)
+                image = new HeadlessImage(sheet, roi, removeBackground);
+            images.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Getter for a decoded sheet, read once
+     * @param name (String): full name of the sheet, not null
+     * @return (BufferedImage): the sheet, null on error
+     */
+    private BufferedImage getSheet(String name) {
+        if (sheets.containsKey(name))
+            return sheets.get(name);
+        BufferedImage sheet = null;
+        try (InputStream input = fileSystem.read(name)) {
+            sheet = ImageIO.read(input);
+        } catch (IOException e) {
+            // Empty on purpose, will return null as an error
+            System.out.println("File :"+ name +" not found");
+        }
+        sheets.put(name, sheet);
+        return sheet;
+    }
+
+    @Override
+    public void drawImage(Image image, Transform transform, float alpha, float depth) {
+        if (transform == null)
+            throw new NullPointerException();
+        if (image != null && alpha > 0.0f)
+            ++pendingImages;
+    }
+
+    @Override
+    public void drawShape(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
+        if (transform == null)
+            throw new NullPointerException();
+        if (shape != null && alpha > 0.0f && (fillColor != null || (outlineColor != null && thickness > 0.0f)))
+            ++pendingShapes;
+    }
+
+    @Override
+    public void drawText(String text, float fontSize, Transform transform, Color fillColor, Color outlineColor, float thickness,
+                         boolean bold, boolean italics, Vector anchor, TextAlign.Horizontal hAlign, TextAlign.Vertical vAlign, float alpha, float depth) {
+        if (transform == null)
+            throw new NullPointerException();
+        if (text != null && fontSize > 0.0f && alpha > 0.0f && (fillColor != null || (outlineColor != null && thickness > 0.0f)))
+            ++pendingTexts;
+    }
+
+    @Override
+    public Vector convertPositionOnScreen(Vector coord) {
+        float halfX;
+        float halfY;
+        if (width > height) {
+            halfX = 1.0f;
+            halfY = (float) height / (float) width;
+        } else {
+            halfX = (float) width / (float) height;
+            halfY = 1.0f;
+        }
+        final Vector pointInView = getTransform().inverted().onPoint(coord.x, coord.y);
+        final float x = pointInView.getX() / (halfX / width) + 0.5f * width;
+        final float y = pointInView.getY() / (-halfY / height) + 0.5f * height;
+        return new Vector(x, y);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public float getXScale() {
+        return getTransform().getX().getX();
+    }
+
+    @Override
+    public float getYScale() {
+        return getTransform().getY().getY();
+    }
+
+    @Override
+    public float getScaledWidth() {
+        float width = getXScale();
+        float height = getYScale();
+        float ratio = getWidth() / (float) getHeight();
+        if (ratio <= 1)
+            width = height * ratio;
+        return width;
+    }
+
+    @Override
+    public float getScaledHeight() {
+        float width = getXScale();
+        float height = getYScale();
+        float ratio = getWidth() / (float) getHeight();
+        if (ratio > 1)
+            height = width / ratio;
+        return height;
+    }
+
+    /// HeadlessWindow implements Audio
+
+    @Override
+    public Sound getSound(String name) {
+        return null;
+    }
+
+    @Override
+    public void playSound(Sound sound, boolean randomFirstStart, float volume, boolean fadeIn, boolean loop, boolean stopOthersOnStart) {
+        // Sounds are ignored
+    }
+
+    @Override
+    public boolean isSoundSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,254 @@
+package play.window.swing;
+
+import play.io.FileSystem;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+
+/**
+ * Images precompiled into a single file of raw premultiplied ARGB pixels, avoiding the PNG decoding at run time.
+ * The pack starts with an index (name, width, height, offset and source checksum of each image) followed by the pixels,
+ * one big endian int per pixel, row after row. The pack is memory mapped when the file system allows it,
+ * and images are then filled with a bulk copy from the mapped buffer.
+ * The pack can be regenerated from a resource folder with the main method, after any image change:
+ * an image whose file no longer matches the checksum is reported once and read from its file instead
+ */
+final class AssetPack {
+
+    /// Name of the pack in the file system
+    static final String PACK = "images/assets.pack";
+    /// Identifier and version of the format, "ZPK" followed by the version
+    private static final int MAGIC = 0x5A504B02;
+
+    /**
+     * Location of an image in the pack
+     */
+    private static final class Entry {
+
+        final int width, height;
+        /// Index of the first pixel in the pixel buffer
+        final int offset;
+        /// CRC32 of the file the image was compiled from
+        final int checksum;
+
+        private Entry(int width, int height, int offset, int checksum) {
+            this.width = width;
+            this.height = height;
+            this.offset = offset;
+            this.checksum = checksum;
+        }
+    }
+
+    /// Empty pack, used when there is no pack file
+    private static final AssetPack EMPTY = new AssetPack(null, Collections.emptyMap(), IntBuffer.allocate(0));
+
+    /// Images by name
+    private final Map<String, Entry> entries;
+    /// Pixels of all the images, only read through duplicates as shared by the preloading threads
+    private final IntBuffer pixels;
+    /// File system of the image files, to check the images are up to date
+    private final FileSystem fileSystem;
+    /// Whether each image checked matches its file, checked once when first needed
+    private final Map<String, Boolean> upToDate = new ConcurrentHashMap<>();
+
+    private AssetPack(FileSystem fileSystem, Map<String, Entry> entries, IntBuffer pixels) {
+        this.fileSystem = fileSystem;
+        this.entries = entries;
+        this.pixels = pixels;
+    }
+
+    /**
+     * Open the pack of the given file system, if any
+     * @param fileSystem (FileSystem): the file system containing the pack, not null
+     * @return (AssetPack): the pack, empty if there is no valid pack, not null
+     */
+    static AssetPack load(FileSystem fileSystem) {
+        // Mapped by file systems giving access to plain files or stored archive entries
+        ByteBuffer buffer;
+        try {
+            buffer = fileSystem.readBytes(PACK);
+        } catch (IOException e) {
+            // No pack: images are decoded from their own files
+            return EMPTY;
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                System.out.println("File :" + PACK + " has an unknown format, ignored");
+                return EMPTY;
+            }
+            int count = buffer.getInt();
+            Map<String, Entry> entries = new HashMap<>(2 * count);
+            for (int i = 0; i < count; ++i) {
+                byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(name);
+                int width = buffer.getInt();
+                int height = buffer.getInt();
+                int offset = buffer.getInt();
+                int checksum = buffer.getInt();
+                entries.put(new String(name, StandardCharsets.UTF_8), new Entry(width, height, offset, checksum));
+            }
+            // Pixels start on the next int boundary
+            buffer.position((buffer.position() + 3) & ~3);
+            IntBuffer pixels = buffer.slice().asIntBuffer();
+
+            // A truncated pack would fail on the first read of the images past its end
+            for (Entry entry : entries.values()) {
+                if (entry.width < 0 || entry.height < 0 || entry.offset < 0
+                    || entry.offset + (long) entry.width * entry.height > pixels.limit()) {
+                    System.out.println("File :" + PACK + " is truncated, ignored");
+                    return EMPTY;
+                }
+            }
+            return new AssetPack(fileSystem, entries, pixels);
+        } catch (RuntimeException e) {
+            System.out.println("File :" + PACK + " is corrupted, ignored");
+            return EMPTY;
+        }
+    }
+
+    /**
+     * Indicate if an up to date image is in the pack
+     * @param name (String): full name of the image, not null
+     * @return (boolean): true if the pack contains it and it matches its file
+     */
+    boolean contains(String name) {
+        Entry entry = entries.get(name);
+        return entry != null && isUpToDate(name, entry);
+    }
+
+    /**
+     * Indicate if an image of the pack matches its file, comparing their checksums the first time
+     * @param name (String): full name of the image, not null
+     * @param entry (Entry): the image in the pack, not null
+     * @return (boolean): true if the file is unchanged since the pack was compiled, or not available
+     */
+    private boolean isUpToDate(String name, Entry entry) {
+        return upToDate.computeIfAbsent(name, key -> {
+            ByteBuffer file;
+            try {
+                file = fileSystem.readBytes(key);
+            } catch (IOException e) {
+                // Only the pack is shipped
+                return true;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(file);
+            if ((int) crc.getValue() == entry.checksum)
+                return true;
+            System.out.println("File :" + key + " changed since " + PACK + " was compiled, read from its file");
+            return false;
+        });
+    }
+
+    /**
+     * Create an image from the pack, safe to call from several threads
+     * @param name (String): full name of the image, not null
+     * @return (BufferedImage): a new premultiplied image, null if not in the pack or out of date
+     */
+    BufferedImage read(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null || !isUpToDate(name, entry))
+            return null;
+        BufferedImage image = new BufferedImage(entry.width, entry.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        IntBuffer source = pixels.duplicate();
+        source.position(entry.offset);
+        source.get(data, 0, entry.width * entry.height);
+        return image;
+    }
+
+    /** @return (int): number of images in the pack */
+    int getImageCount() {
+        return entries.size();
+    }
+
+    /**
+     * Write the pack of all the images of a resource folder
+     * @param args (String[]): the resource folder, "res" by default
+     * @throws IOException if an image cannot be read or the pack cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        File root = new File(args.length > 0 ? args[0] : "res");
+        List<String> names = new ArrayList<>();
+        collect(root, new File(root, "images"), names);
+        names.sort(null);
+
+        // Decode and premultiply everything first, the index needs the sizes and the checksums
+        List<BufferedImage> images = new ArrayList<>();
+        List<Integer> checksums = new ArrayList<>();
+        for (String name : names) {
+            byte[] file = Files.readAllBytes(new File(root, name).toPath());
+            CRC32 crc = new CRC32();
+            crc.update(file);
+            checksums.add((int) crc.getValue());
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(file));
+            if (decoded == null)
+                throw new IOException("Unknown image format: " + name);
+            BufferedImage image = new BufferedImage(decoded.getWidth(), decoded.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+            image.getGraphics().drawImage(decoded, 0, 0, null);
+            images.add(image);
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(root, PACK)), 1 << 16))) {
+            output.writeInt(MAGIC);
+            output.writeInt(names.size());
+            int offset = 0;
+            for (int i = 0; i < names.size(); ++i) {
+                byte[] name = names.get(i).getBytes(StandardCharsets.UTF_8);
+                BufferedImage image = images.get(i);
+                output.writeShort(name.length);
+                output.write(name);
+                output.writeInt(image.getWidth());
+                output.writeInt(image.getHeight());
+                output.writeInt(offset);
+                output.writeInt(checksums.get(i));
+                offset += image.getWidth() * image.getHeight();
+            }
+            // Pixels start on the next int boundary
+            for (int i = output.size(); i % 4 != 0; ++i)
+                output.writeByte(0);
+            for (BufferedImage image : images) {
+                for (int pixel : ((DataBufferInt) image.getRaster().getDataBuffer()).getData())
+                    output.writeInt(pixel);
+            }
+        }
+        System.out.println(names.size() + " images written in " + PACK);
+    }
+
+    /**
+     * Add the names of the images of a folder and its sub folders
+     * @param root (File): the resource folder, names are relative to it, not null
+     * @param folder (File): the folder to look into, not null
+     * @param names (List of String): the names found, not null
+     */
+    private static void collect(File root, File folder, List<String> names) {
+        File[] files = folder.listFiles();
+        if (files == null)
+            return;
+        for (File file : files) {
+            if (file.isDirectory())
+                collect(root, file, names);
+            else if (file.getName().endsWith(".png"))
+                names.add(root.toURI().relativize(file.toURI()).getPath());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package play.window.swing;
+
+import play.math.Transform;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Find the regions of the canvas changed since the previous frame.
+ * Each item is summarized by a key of what it renders (content, transform, depth) and its bounds in pixels.
+ * Items whose key appears or disappears between two frames damage their bounds.
+ * The whole canvas is damaged when the view moves, when the canvas is resized or for unknown item types.
+ * Note: used by the window render thread only
+ */
+final class DamageTracker {
+
+    /// Maximal number of damaged rectangles repainted separately, more are merged into one
+    private static final int MAX_RECTANGLES = 4;
+    /// Margin around the items bounds, covering anti-aliasing, in pixels
+    private static final int MARGIN = 2;
+    /// Part of the canvas above which it is cheaper to repaint it entirely
+    private static final float MAX_DAMAGE = 0.5f;
+    private static final Comparator<Entry> BY_KEY = (a, b) -> Long.compare(a.key, b.key);
+
+    /**
+     * Summary of a rendered item
+     */
+    private static final class Entry {
+        private long key;
+        private int xMin, yMin, xMax, yMax;
+    }
+
+    /// Items of the previous and current frames, sorted by key
+    private Entry[] previous = new Entry[0];
+    private Entry[] current = new Entry[0];
+    private int previousSize, currentSize;
+    /// View of the previous frame, null if it must be entirely repainted
+    private AffineTransform previousView;
+    private int previousWidth, previousHeight;
+    /// Damaged rectangles of the current frame, and bounds of the described item
+    private final List<Rectangle> damage = new ArrayList<>();
+    private final double[] bounds = new double[4];
+
+    /**
+     * Mix a value into a key
+     * @param key (long): the key
+     * @param value (long): the value to mix
+     * @return (long): the new key
+     */
+    static long mix(long key, long value) {
+        long h = (key ^ value) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Mix a transform into a key
+     * @param key (long): the key
+     * @param transform (Transform): the transform, not null
+     * @return (long): the new key
+     */
+    static long mix(long key, Transform transform) {
+        key = mix(key, Float.floatToIntBits(transform.m00));
+        key = mix(key, Float.floatToIntBits(transform.m01));
+        key = mix(key, Float.floatToIntBits(transform.m02));
+        key = mix(key, Float.floatToIntBits(transform.m10));
+        key = mix(key, Float.floatToIntBits(transform.m11));
+        return mix(key, Float.floatToIntBits(transform.m12));
+    }
+
+    /**
+     * Mix a color into a key
+     * @param key (long): the key
+     * @param color (Color): the color, may be null
+     * @return (long): the new key
+     */
+    static long mix(long key, Color color) {
+        return mix(key, color == null ? 0L : 0x100000000L | (color.getRGB() & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Compute the bounds of a parallelogram
+     * @param x (float): x coordinate of a corner
+     * @param y (float): y coordinate of a corner
+     * @param ux (float): x coordinate of the first edge from this corner
+     * @param uy (float): y coordinate of the first edge from this corner
+     * @param vx (float): x coordinate of the second edge from this corner
+     * @param vy (float): y coordinate of the second edge from this corner
+     * @param bounds (double[]): receives the minimal x and y, then the maximal x and y, not null
+     */
+    static void bounds(float x, float y, float ux, float uy, float vx, float vy, double[] bounds) {
+        bounds[0] = x + Math.min(0.0f, ux) + Math.min(0.0f, vx);
+        bounds[1] = y + Math.min(0.0f, uy) + Math.min(0.0f, vy);
+        bounds[2] = x + Math.max(0.0f, ux) + Math.max(0.0f, vx);
+        bounds[3] = y + Math.max(0.0f, uy) + Math.max(0.0f, vy);
+    }
+
+    /** Forget the previous frame: the next one is entirely repainted */
+    void invalidate() {
+        previousView = null;
+    }
+
+    /**
+     * Compute the regions to repaint for the given frame, and remember its items for the next one
+     * @param items (List of Item): the items of the frame, not null
+     * @param view (AffineTransform): transform from the area to the canvas pixels, not null
+     * @param width (int): canvas width
+     * @param height (int): canvas height
+     * @return (List of Rectangle): the damaged regions, in canvas pixels, null if the whole canvas must be repainted
+     */
+    List<Rectangle> update(List<Item> items, AffineTransform view, int width, int height) {
+        boolean full = previousView == null || !previousView.equals(view) || width != previousWidth || height != previousHeight
+            || view.getShearX() != 0.0 || view.getShearY() != 0.0;
+
+        // Describe the items of the frame
+        if (current.length < items.size()) {
+            int size = Math.max(items.size(), current.length * 2);
+            Entry[] grown = Arrays.copyOf(current, size);
+            for (int i = current.length; i < size; ++i)
+                grown[i] = new Entry();
+            current = grown;
+        }
+        currentSize = 0;
+        for (Item item : items) {
+            if (!describe(item, view, current[currentSize++]))
+                full = true;
+        }
+        Arrays.sort(current, 0, currentSize, BY_KEY);
+
+        // Items only in one of the frames are damaged, the others did not change
+        damage.clear();
+        if (!full) {
+            int i = 0;
+            int j = 0;
+            while (i < previousSize || j < currentSize) {
+                if (j >= currentSize || (i < previousSize && previous[i].key < current[j].key))
+                    damage(previous[i++]);
+                else if (i >= previousSize || current[j].key < previous[i].key)
+                    damage(current[j++]);
+                else {
+                    ++i;
+                    ++j;
+                }
+            }
+        }
+
+        // Keep the current frame for the next one
+        Entry[] swap = previous;
+        previous = current;
+        current = swap;
+        previousSize = currentSize;
+        previousView = view;
+        previousWidth = width;
+        previousHeight = height;
+
+        if (full)
+            return null;
+        return clip(width, height);
+    }
+
+    /**
+     * Summarize an item
+     * @param item (Item): the item, not null
+     * @param view (AffineTransform): transform from the area to the canvas pixels, not null
+     * @param entry (Entry): the summary to fill, not null
+     * @return (boolean): false if the item type is unknown
+     */
+    private boolean describe(Item item, AffineTransform view, Entry entry) {
+        if (item instanceof ImageItem) {
+            entry.key = ((ImageItem) item).getKey();
+            ((ImageItem) item).getBounds(bounds);
+        } else if (item instanceof ShapeItem) {
+            entry.key = ((ShapeItem) item).getKey();
+            ((ShapeItem) item).getBounds(bounds);
+        } else if (item instanceof TextItem) {
+            entry.key = ((TextItem) item).getKey();
+            ((TextItem) item).getBounds(bounds);
+        } else if (item instanceof StaticItem) {
+            entry.key = ((StaticItem) item).getKey();
+            ((StaticItem) item).getBounds(bounds);
+        } else {
+            entry.key = 0L;
+            return false;
+        }
+        double x0 = view.getScaleX() * bounds[0] + view.getTranslateX();
+        double x1 = view.getScaleX() * bounds[2] + view.getTranslateX();
+        double y0 = view.getScaleY() * bounds[1] + view.getTranslateY();
+        double y1 = view.getScaleY() * bounds[3] + view.getTranslateY();
+        entry.xMin = (int) Math.floor(Math.min(x0, x1)) - MARGIN;
+        entry.yMin = (int) Math.floor(Math.min(y0, y1)) - MARGIN;
+        entry.xMax = (int) Math.ceil(Math.max(x0, x1)) + MARGIN;
+        entry.yMax = (int) Math.ceil(Math.max(y0, y1)) + MARGIN;
+        return true;
+    }
+
+    /**
+     * Add the bounds of an item to the damage, merged with the rectangles it intersects
+     * @param entry (Entry): the item summary, not null
+     */
+    private void damage(Entry entry) {
+        Rectangle rectangle = new Rectangle(entry.xMin, entry.yMin, entry.xMax - entry.xMin, entry.yMax - entry.yMin);
+        for (int i = damage.size() - 1; i >= 0; --i) {
+            if (damage.get(i).intersects(rectangle))
+                rectangle.add(damage.remove(i));
+        }
+        damage.add(rectangle);
+    }
+
+    /**
+     * Restrict the damage to the canvas, merging it when too fragmented
+     * @param width (int): canvas width
+     * @param height (int): canvas height
+     * @return (List of Rectangle): the damaged regions, null if the whole canvas must be repainted
+     */
+    private List<Rectangle> clip(int width, int height) {
+        if (damage.size() > MAX_RECTANGLES) {
+            Rectangle union = damage.get(0);
+            for (Rectangle rectangle : damage)
+                union.add(rectangle);
+            damage.clear();
+            damage.add(union);
+        }
+        Rectangle canvas = new Rectangle(0, 0, width, height);
+        long area = 0;
+        for (int i = damage.size() - 1; i >= 0; --i) {
+            Rectangle rectangle = damage.get(i).intersection(canvas);
+            if (rectangle.isEmpty())
+                damage.remove(i);
+            else {
+                damage.set(i, rectangle);
+                area += (long) rectangle.width * rectangle.height;
+            }
+        }
+        if (area > MAX_DAMAGE * width * height)
+            return null;
+        return damage;
+    }
+}
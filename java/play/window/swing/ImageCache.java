@@ -0,0 +1,200 @@
+package play.window.swing;
+
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decoded images of the window within a memory budget, counted as 4 bytes per pixel.
+ * The least recently used images are released first when over budget, except the pinned ones
+ * (e.g. the images of the current area). Names which could not be read are remembered apart,
+ * in a bounded set, so that a missing file is not read again each frame.
+ * Note: used by the game thread only
+ */
+final class ImageCache {
+
+    /// Maximal number of remembered missing names
+    private static final int MAX_MISSING = 256;
+
+    /**
+     * Decoded pixels, with the images of their regions
+     */
+    static final class Entry {
+
+        final BufferedImage pixels;
+        private final long bytes;
+        /// Images of the regions of the pixels, by region of interest
+        private final Map<String, SwingImage> regions = new HashMap<>();
+
+        private Entry(BufferedImage pixels) {
+            this.pixels = pixels;
+            this.bytes = 4L * pixels.getWidth() * pixels.getHeight();
+        }
+
+        /**
+         * Getter for the image of a region, created once
+         * @param roi (String): key of the region of interest, not null
+         * @return (SwingImage): the image, null if never set
+         */
+        SwingImage getRegion(String roi) {
+            return regions.get(roi);
+        }
+
+        /**
+         * Setter for the image of a region
+         * @param roi (String): key of the region of interest, not null
+         * @param image (SwingImage): the image, not null
+         */
+        void putRegion(String roi, SwingImage image) {
+            regions.put(roi, image);
+        }
+    }
+
+    /// Decoded pixels by name, in access order
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /// Names not found, in access order
+    private final Map<String, Boolean> missing = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_MISSING;
+        }
+    };
+    private final Set<String> pinned = new HashSet<>();
+    /// Memory budget and memory used, in bytes
+    private long budget;
+    private long bytes;
+    /// Counters since the creation
+    private long hits, misses, evictions;
+
+    /**
+     * Creates an empty cache
+     * @param budget (long): memory budget, in bytes
+     */
+    ImageCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Getter for decoded pixels, counted as a hit or a miss
+     * @param name (String): name of the pixels, not null
+     * @return (Entry): the entry, null if not decoded yet or missing
+     */
+    Entry get(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null || missing.get(name) != null)
+            ++hits;
+        else
+            ++misses;
+        return entry;
+    }
+
+    /**
+     * Indicate if the given name is known, without counting it
+     * @param name (String): name of the pixels, not null
+     * @return (boolean): true if the pixels are decoded or known to be missing
+     */
+    boolean contains(String name) {
+        return entries.containsKey(name) || missing.containsKey(name);
+    }
+
+    /**
+     * Indicate if the given name is known to be missing
+     * @param name (String): name of the pixels, not null
+     * @return (boolean): true if it could not be read
+     */
+    boolean isMissing(String name) {
+        return missing.containsKey(name);
+    }
+
+    /**
+     * Add decoded pixels, releasing the least recently used ones if over budget
+     * @param name (String): name of the pixels, not null
+     * @param pixels (BufferedImage): the pixels, null if they could not be read
+     * @return (Entry): the new entry, null for missing pixels
+     */
+    Entry put(String name, BufferedImage pixels) {
+        if (pixels == null) {
+            missing.put(name, Boolean.TRUE);
+            return null;
+        }
+        Entry entry = new Entry(pixels);
+        Entry previous = entries.put(name, entry);
+        if (previous != null)
+            bytes -= previous.bytes;
+        bytes += entry.bytes;
+        evict(name);
+        return entry;
+    }
+
+    /**
+     * Pin the given names, replacing the previously pinned ones: they are kept whatever the budget
+     * @param names (Collection of String): names of the pixels to keep, not null
+     */
+    void pin(Collection<String> names) {
+        pinned.clear();
+        pinned.addAll(names);
+        evict(null);
+    }
+
+    /**
+     * Setter for the memory budget, releasing the least recently used pixels if now over budget
+     * @param budget (long): the new budget, in bytes
+     */
+    void setBudget(long budget) {
+        this.budget = budget;
+        evict(null);
+    }
+
+    /**
+     * Release the least recently used pixels until within budget
+     * @param kept (String): name of pixels not to release as just added, may be null
+     */
+    private void evict(String kept) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (bytes > budget && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (pinned.contains(eldest.getKey()) || eldest.getKey().equals(kept))
+                continue;
+            bytes -= eldest.getValue().bytes;
+            iterator.remove();
+            ++evictions;
+        }
+    }
+
+    /** @return (long): memory budget, in bytes */
+    long getBudget() {
+        return budget;
+    }
+
+    /** @return (long): memory used by the decoded pixels, in bytes */
+    long getBytes() {
+        return bytes;
+    }
+
+    /** @return (long): number of lookups of decoded or missing pixels */
+    long getHits() {
+        return hits;
+    }
+
+    /** @return (long): number of lookups of pixels still to decode */
+    long getMisses() {
+        return misses;
+    }
+
+    /** @return (long): number of pixels released to stay within budget */
+    long getEvictions() {
+        return evictions;
+    }
+
+    /** Release all the pixels */
+    void clear() {
+        entries.clear();
+        missing.clear();
+        bytes = 0;
+    }
+}
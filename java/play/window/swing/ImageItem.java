@@ -6,17 +6,25 @@ import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
-import java.awt.image.BufferedImage;
 
 /**
  * Draw a single image.
  */
 public final class ImageItem implements Item {
 
-    private final float depth;
-    private final float alpha;
-    private final Transform transform;
-    private final SwingImage image;
+    private float depth;
+    private float alpha;
+    private Transform transform;
+    private SwingImage image;
+    /// Transforms from the image to the area and to the view, reused by each render
+    private final AffineTransform local = new AffineTransform();
+    private final AffineTransform affine = new AffineTransform();
+
+    /**
+     * Creates an empty image item, to be set before being drawn
+     */
+    ImageItem() {
+    }
 
     /**
      * Creates a new image item.
@@ -26,12 +34,44 @@ public final class ImageItem implements Item {
      * @param image (SwingImage): swing image, not null
      */
     public ImageItem(float depth, float alpha, Transform transform, SwingImage image) {
+        set(depth, alpha, transform, image);
+    }
+
+    /**
+     * Set all the properties of this item, used to recycle it once rendered
+     * @param depth (float): associated depth
+     * @param alpha (float): transparency, between 0 (invisible) and 1 (opaque)
+     * @param transform (Transform): transform used, not null
+     * @param image (SwingImage): swing image, not null
+     */
+    void set(float depth, float alpha, Transform transform, SwingImage image) {
         this.depth = depth;
         this.alpha = alpha;
         this.transform = transform;
         this.image = image;
     }
 
+    /**
+     * Summarize what this item renders, to detect its changes between frames
+     * @return (long): a key of the image, transform, transparency and depth
+     */
+    long getKey() {
+        long key = DamageTracker.mix(System.identityHashCode(image), Float.floatToIntBits(alpha));
+        key = DamageTracker.mix(key, Float.floatToIntBits(depth));
+        return DamageTracker.mix(key, transform);
+    }
+
+    /**
+     * Compute the bounds of the image in the area, as rendered
+     * @param bounds (double[]): receives the minimal x and y, then the maximal x and y, not null
+     */
+    void getBounds(double[] bounds) {
+        // Corners of the flipped region, see renderInBatch
+        float x = transform.m02 + transform.m01;
+        float y = transform.m12 + transform.m11;
+        DamageTracker.bounds(x, y, transform.m00, transform.m10, transform.m01, -transform.m11, bounds);
+    }
+
     /// ImageItem implements Item
 
     @Override
@@ -41,25 +81,49 @@ public final class ImageItem implements Item {
     
     @Override
     public void render(Graphics2D g) {
+        final AffineTransform view = g.getTransform();
+        final Composite composite = g.getComposite();
+        renderInBatch(g, view, composite);
+        endBatch(g, view, composite);
+    }
+
+    /**
+     * Render the image region without restoring the graphics state, so that consecutive
+     * image items only pay for their own transform. The batch is closed by endBatch
+     * @param g (Graphics2D): target context, not null
+     * @param view (AffineTransform): transform of the context before the batch, not null
+     * @param composite (Composite): composite of the context before the batch, not null
+     */
+    void renderInBatch(Graphics2D g, AffineTransform view, Composite composite) {
         if (alpha <= 0.0f)
             return;
         // Note: image space has inverted Y-axis, need to flip vertically
-        BufferedImage i = image.image;
-        float sx = 1.0f / i.getWidth();
-        float sy = 1.0f / i.getHeight();
-        AffineTransform a = new AffineTransform(
+        float sx = 1.0f / image.width;
+        float sy = 1.0f / image.height;
+        local.setTransform(
             transform.m00 * sx, transform.m10 * sx,
             transform.m01 * sy, -transform.m11 * sy,
             transform.m02 + transform.m01, transform.m12 + transform.m11
         );
-        if (alpha >= 1.0f)
-            g.drawImage(i, a, null);
-        else {
-            Composite composite = g.getComposite();
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-            g.drawImage(i, a, null);
-            g.setComposite(composite);
-        }
+        AffineTransform a = affine;
+        a.setTransform(view);
+        a.concatenate(local);
+        g.setTransform(a);
+        g.setComposite(alpha >= 1.0f ? composite : AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+        // Draw the region only, the sheet stays a single image for the whole batch
+        g.drawImage(image.image, 0, 0, image.width, image.height,
+            image.x, image.y, image.x + image.width, image.y + image.height, null);
     }
-    
+
+    /**
+     * Restore the graphics state after a batch of image items
+     * @param g (Graphics2D): target context, not null
+     * @param view (AffineTransform): transform of the context before the batch, not null
+     * @param composite (Composite): composite of the context before the batch, not null
+     */
+    static void endBatch(Graphics2D g, AffineTransform view, Composite composite) {
+        g.setTransform(view);
+        g.setComposite(composite);
+    }
+
 }
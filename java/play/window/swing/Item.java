@@ -4,6 +4,8 @@ import java.awt.Graphics2D;
 
 /**
  * Represent a renderable element in a Swing context.
+ * Note: items are rendered by the window render thread, hence must not change once drawn
+ * until their frame is rendered, the window then recycles its own items
  */
 public interface Item extends Comparable<Item> {
 
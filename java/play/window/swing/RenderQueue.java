@@ -0,0 +1,181 @@
+package play.window.swing;
+
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Order the items of a frame by depth, as a stable sort on {@link Item#getDepth()} would.
+ * Items are binned by layer: the background (at -Float.MAX_VALUE or below), the sprites,
+ * and the overlay (foreground, GUI, dialogs and grid, from depth 1000).
+ * Bins already in order are left as is, the others are sorted with a least significant
+ * digit radix sort on the depth bits, linear in the number of items.
+ * Note: a queue is used by the window render thread only
+ */
+final class RenderQueue {
+
+    /// Lowest depth of the overlay layer
+    private static final float OVERLAY_DEPTH = 1000.0f;
+
+    /// The layers, rendered in this order
+    private final Bin background = new Bin();
+    private final Bin sprites = new Bin();
+    private final Bin overlay = new Bin();
+
+    /**
+     * Add the given items, in this order
+     * @param items (List of Item): the items to add, not null
+     */
+    void addAll(List<Item> items) {
+        for (Item item : items) {
+            float depth = item.getDepth();
+            if (depth <= -Float.MAX_VALUE)
+                background.add(item, depth);
+            else if (depth < OVERLAY_DEPTH)
+                sprites.add(item, depth);
+            else
+                overlay.add(item, depth);
+        }
+    }
+
+    /**
+     * Render the added items, lower depths first
+     * @param g (Graphics2D): target context, not null
+     */
+    void render(Graphics2D g) {
+        final AffineTransform view = g.getTransform();
+        final Composite composite = g.getComposite();
+        background.render(g, view, composite);
+        sprites.render(g, view, composite);
+        overlay.render(g, view, composite);
+    }
+
+    /** Remove all the items, the storage is kept for the next frame */
+    void clear() {
+        background.clear();
+        sprites.clear();
+        overlay.clear();
+    }
+
+    /**
+     * Convert a depth into a key whose unsigned order is the order of Float.compare
+     * @param depth (float): the depth
+     * @return (int): the sortable key
+     */
+    private static int keyOf(float depth) {
+        int bits = Float.floatToIntBits(depth);
+        // Negative values are ordered backward: flip them entirely, positive ones only get their sign set
+        return (bits < 0) ? ~bits : bits | Integer.MIN_VALUE;
+    }
+
+    /**
+     * Items of a layer with their sort keys, in parallel arrays
+     */
+    private static final class Bin {
+
+        /// Number of values of a radix digit
+        private static final int RADIX = 256;
+
+        private Item[] items = new Item[64];
+        private int[] keys = new int[64];
+        /// Buffers of the radix sort passes
+        private Item[] sortedItems = new Item[64];
+        private int[] sortedKeys = new int[64];
+        private final int[] counts = new int[RADIX];
+        private int size;
+
+        /**
+         * Add an item at the end of the bin
+         * @param item (Item): the item, not null
+         * @param depth (float): its depth
+         */
+        private void add(Item item, float depth) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+                sortedItems = new Item[size * 2];
+                sortedKeys = new int[size * 2];
+            }
+            items[size] = item;
+            keys[size] = keyOf(depth);
+            ++size;
+        }
+
+        /** @return (boolean): true if the items are already in order */
+        private boolean isSorted() {
+            for (int i = 1; i < size; ++i) {
+                if (Integer.compareUnsigned(keys[i - 1], keys[i]) > 0)
+                    return false;
+            }
+            return true;
+        }
+
+        /** Stable sort of the items by key, one pass per byte, skipping the bytes shared by all keys */
+        private void sort() {
+            for (int shift = 0; shift < Integer.SIZE; shift += 8) {
+                Arrays.fill(counts, 0);
+                for (int i = 0; i < size; ++i)
+                    ++counts[(keys[i] >>> shift) & (RADIX - 1)];
+                if (counts[(keys[0] >>> shift) & (RADIX - 1)] == size)
+                    continue;
+
+                // Turn the counts into the first position of each digit
+                int position = 0;
+                for (int digit = 0; digit < RADIX; ++digit) {
+                    int count = counts[digit];
+                    counts[digit] = position;
+                    position += count;
+                }
+                for (int i = 0; i < size; ++i) {
+                    int target = counts[(keys[i] >>> shift) & (RADIX - 1)]++;
+                    sortedKeys[target] = keys[i];
+                    sortedItems[target] = items[i];
+                }
+
+                int[] swapKeys = keys;
+                keys = sortedKeys;
+                sortedKeys = swapKeys;
+                Item[] swapItems = items;
+                items = sortedItems;
+                sortedItems = swapItems;
+            }
+        }
+
+        /**
+         * Render the items of the bin, sorting them first if needed
+         * Consecutive image items are rendered as a batch, restoring the context once at its end
+         * @param g (Graphics2D): target context, not null
+         * @param view (AffineTransform): transform of the context, not null
+         * @param composite (Composite): composite of the context, not null
+         */
+        private void render(Graphics2D g, AffineTransform view, Composite composite) {
+            if (!isSorted())
+                sort();
+            boolean batching = false;
+            for (int i = 0; i < size; ++i) {
+                Item item = items[i];
+                if (item instanceof ImageItem) {
+                    ((ImageItem) item).renderInBatch(g, view, composite);
+                    batching = true;
+                } else {
+                    if (batching) {
+                        ImageItem.endBatch(g, view, composite);
+                        batching = false;
+                    }
+                    item.render(g);
+                }
+            }
+            if (batching)
+                ImageItem.endBatch(g, view, composite);
+        }
+
+        /** Remove the items, releasing their references */
+        private void clear() {
+            Arrays.fill(items, 0, size, null);
+            Arrays.fill(sortedItems, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package play.window.swing;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.Locale;
+
+/**
+ * Rendering quality profiles of the Swing window, trading image quality for frame time.
+ */
+public enum RenderingQuality {
+
+    /// Nearest neighbour scaling and no anti-aliasing: sharp pixel art, cheapest
+    PIXEL_PERFECT(
+        RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_GASP,
+        RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, RenderingHints.VALUE_RENDER_SPEED,
+        RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED
+    ),
+    /// Anti-aliased shapes and text, default scaling
+    BALANCED(
+        RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+        null, null, null
+    ),
+    /// Anti-aliased shapes, LCD text and bilinear scaling, most expensive: texts are drawn without the bitmaps of their runs
+    QUALITY(
+        RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB,
+        RenderingHints.VALUE_INTERPOLATION_BILINEAR, RenderingHints.VALUE_RENDER_QUALITY,
+        RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY
+    );
+
+    /// Hints of the profile, the others keep their default value
+    private final RenderingHints hints;
+
+    /**
+     * Creates a profile
+     * @param antialiasing (Object): shapes anti-aliasing hint, not null
+     * @param textAntialiasing (Object): text anti-aliasing hint, not null
+     * @param interpolation (Object): image interpolation hint, null for the default
+     * @param rendering (Object): rendering hint, null for the default
+     * @param alphaInterpolation (Object): alpha interpolation hint, null for the default
+     */
+    RenderingQuality(Object antialiasing, Object textAntialiasing, Object interpolation, Object rendering, Object alphaInterpolation) {
+        hints = new RenderingHints(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialiasing);
+        if (interpolation != null)
+            hints.put(RenderingHints.KEY_INTERPOLATION, interpolation);
+        if (rendering != null)
+            hints.put(RenderingHints.KEY_RENDERING, rendering);
+        if (alphaInterpolation != null)
+            hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, alphaInterpolation);
+    }
+
+    /**
+     * Set the hints of this profile on a context, replacing all its hints
+     * @param g (Graphics2D): the context, not null
+     */
+    void apply(Graphics2D g) {
+        g.setRenderingHints(hints);
+    }
+
+    /**
+     * Find a profile by name, ignoring case and accepting dashes, e.g. "pixel-perfect"
+     * @param name (String): name of the profile, may be null
+     * @param defaultQuality (RenderingQuality): profile used if there is no name, may be null
+     * @return (RenderingQuality): the profile with this name, or the default one if the name is null
+     * @throws IllegalArgumentException if there is no profile with this name
+     */
+    public static RenderingQuality of(String name, RenderingQuality defaultQuality) {
+        if (name == null)
+            return defaultQuality;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown rendering quality: " + name);
+        }
+    }
+
+    /** @return (String): name of the profile as accepted by of, e.g. "pixel-perfect" */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
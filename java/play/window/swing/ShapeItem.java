@@ -1,11 +1,14 @@
 package play.window.swing;
 
+import play.math.Transform;
+
 import java.awt.AlphaComposite;
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
 
 
 /**
@@ -13,12 +16,22 @@ import java.awt.Shape;
  */
 public final class ShapeItem implements Item {
 
-	private final Shape shape;
-	private final Color fillColor;
-	private final Color outlineColor;
-	private final float thickness;
-	private final float alpha;
-	private final float depth;
+	private Shape shape;
+	private Transform transform;
+	private Color fillColor;
+	private Color outlineColor;
+	private float thickness;
+	private float alpha;
+	private float depth;
+	/// Transforms from the shape to the area and to the view, reused by each render
+	private final AffineTransform local = new AffineTransform();
+	private final AffineTransform affine = new AffineTransform();
+
+    /**
+     * Creates an empty shape item, to be set before being drawn
+     */
+	ShapeItem() {
+	}
 
     /**
      * Creates a new shape item.
@@ -31,7 +44,22 @@ public final class ShapeItem implements Item {
      */
 	public ShapeItem(Shape shape, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
 		super();
+		set(shape, null, fillColor, outlineColor, thickness, alpha, depth);
+	}
+
+    /**
+     * Set all the properties of this item, used to recycle it once rendered
+     * @param shape (Shape): Swing shape, shared and not modified, not null
+     * @param transform (Transform): transform applied to the shape when rendered, null for none
+     * @param fillColor (Color): fill color, may be null
+     * @param outlineColor (Color): outline color, may be null
+     * @param thickness (float): outline thickness
+     * @param alpha (float): transparency, between 0 (invisible) and 1 (opaque)
+     * @param depth (float): associated depth
+     */
+	void set(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
 		this.shape = shape;
+		this.transform = transform;
 		this.fillColor = fillColor;
 		this.outlineColor = outlineColor;
 		this.thickness = thickness;
@@ -39,6 +67,42 @@ public final class ShapeItem implements Item {
 		this.depth = depth;
 	}
 
+	/**
+	 * Summarize what this item renders, to detect its changes between frames
+	 * Shapes are shared from frame to frame, their identity is summarized rather than their path
+	 * @return (long): a key of the shape, transform, colors, thickness, transparency and depth
+	 */
+	long getKey() {
+		long key = DamageTracker.mix(DamageTracker.mix(System.identityHashCode(shape), fillColor), outlineColor);
+		key = DamageTracker.mix(key, Float.floatToIntBits(thickness));
+		key = DamageTracker.mix(key, Float.floatToIntBits(alpha));
+		key = DamageTracker.mix(key, Float.floatToIntBits(depth));
+		return transform != null ? DamageTracker.mix(key, transform) : key;
+	}
+
+	/**
+	 * Compute the bounds of the shape in the area, with its outline
+	 * @param bounds (double[]): receives the minimal x and y, then the maximal x and y, not null
+	 */
+	void getBounds(double[] bounds) {
+		Rectangle2D box = shape.getBounds2D();
+		float margin = outlineColor != null ? thickness : 0.0f;
+		float x = (float) box.getX();
+		float y = (float) box.getY();
+		float width = (float) box.getWidth();
+		float height = (float) box.getHeight();
+		if (transform == null) {
+			DamageTracker.bounds(x, y, width, 0.0f, 0.0f, height, bounds);
+		} else {
+			DamageTracker.bounds(transform.m00 * x + transform.m01 * y + transform.m02, transform.m10 * x + transform.m11 * y + transform.m12,
+				transform.m00 * width, transform.m10 * width, transform.m01 * height, transform.m11 * height, bounds);
+		}
+		bounds[0] -= margin;
+		bounds[1] -= margin;
+		bounds[2] += margin;
+		bounds[3] += margin;
+	}
+
 	/// ShapeItem implements Item
 
 	@Override
@@ -55,16 +119,51 @@ public final class ShapeItem implements Item {
             old = g.getComposite();
             g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
         }
+		if (transform == null) {
+			if (fillColor != null) {
+				g.setColor(fillColor);
+				g.fill(shape);
+			}
+			if (outlineColor != null) {
+				g.setColor(outlineColor);
+				g.setStroke(Strokes.get(thickness));
+				g.draw(shape);
+			}
+		} else {
+			renderTransformed(g);
+		}
+        if (old != null)
+            g.setComposite(old);
+	}
+
+	/**
+	 * Render the shape through its transform, set on the context rather than applied to the shape
+	 * @param g (Graphics2D): target context, not null
+	 */
+	private void renderTransformed(Graphics2D g) {
+		final AffineTransform view = g.getTransform();
+		local.setTransform(transform.m00, transform.m10, transform.m01, transform.m11, transform.m02, transform.m12);
+		affine.setTransform(view);
+		affine.concatenate(local);
 		if (fillColor != null) {
+			g.setTransform(affine);
 			g.setColor(fillColor);
 			g.fill(shape);
 		}
 		if (outlineColor != null) {
+			// The thickness is given in the area: scale it back when the transform keeps the angles
 			g.setColor(outlineColor);
-			g.setStroke(new BasicStroke(thickness));
-			g.draw(shape);
+			if (transform.m00 == transform.m11 && transform.m01 == -transform.m10) {
+				float scale = (float) Math.sqrt(transform.m00 * transform.m00 + transform.m10 * transform.m10);
+				g.setTransform(affine);
+				g.setStroke(Strokes.get(scale > 0.0f ? thickness / scale : thickness));
+				g.draw(shape);
+			} else {
+				g.setTransform(view);
+				g.setStroke(Strokes.get(thickness));
+				g.draw(local.createTransformedShape(shape));
+			}
 		}
-        if (old != null)
-            g.setComposite(old);
+		g.setTransform(view);
 	}
 }
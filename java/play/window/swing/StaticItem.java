@@ -0,0 +1,187 @@
+package play.window.swing;
+
+import play.math.Shape;
+import play.math.Transform;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Objects;
+
+/**
+ * Draw an image or a shape which does not change from frame to frame.
+ * Its rendering is cached by the window static layers, and only copied while the view scale is unchanged
+ */
+final class StaticItem implements Item {
+
+    /// Cache of the rendered static items
+    private final StaticLayers layers;
+    /// Drawn content: a Swing image, or a shape with its colors
+    private SwingImage image;
+    private Shape shape;
+    private Transform transform;
+    private Color fillColor;
+    private Color outlineColor;
+    private float thickness;
+    private float alpha;
+    private float depth;
+    /// Items rendering the content when the cache is (re)built
+    private final ImageItem imageItem = new ImageItem();
+    private final ShapeItem shapeItem = new ShapeItem();
+
+    /**
+     * Creates an empty static item, to be set before being drawn
+     * @param layers (StaticLayers): the cache of the window, not null
+     */
+    StaticItem(StaticLayers layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * Set this item as a static image
+     * @param image (SwingImage): swing image, not null
+     * @param transform (Transform): transform used, not null
+     * @param alpha (float): transparency, between 0 (invisible) and 1 (opaque)
+     * @param depth (float): associated depth
+     */
+    void setImage(SwingImage image, Transform transform, float alpha, float depth) {
+        this.image = image;
+        this.shape = null;
+        this.transform = transform;
+        this.fillColor = null;
+        this.outlineColor = null;
+        this.thickness = 0.0f;
+        this.alpha = alpha;
+        this.depth = depth;
+    }
+
+    /**
+     * Set this item as a static shape
+     * @param shape (Shape): shape, not null
+     * @param transform (Transform): transform used, not null
+     * @param fillColor (Color): fill color, may be null
+     * @param outlineColor (Color): outline color, may be null
+     * @param thickness (float): outline thickness
+     * @param alpha (float): transparency, between 0 (invisible) and 1 (opaque)
+     * @param depth (float): associated depth
+     */
+    void setShape(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
+        this.image = null;
+        this.shape = shape;
+        this.transform = transform;
+        this.fillColor = fillColor;
+        this.outlineColor = outlineColor;
+        this.thickness = thickness;
+        this.alpha = alpha;
+        this.depth = depth;
+    }
+
+    /** @return (Object): the drawn image or shape, identifying the cached layer */
+    Object getSource() {
+        return image != null ? image : shape;
+    }
+
+    /**
+     * Indicate if the given item draws the same content as this one
+     * @param other (StaticItem): the other item, not null
+     * @return (boolean): true if the cached rendering of the other item can be used for this one
+     */
+    boolean hasSameContent(StaticItem other) {
+        return image == other.image && shape == other.shape && transform.equals(other.transform)
+            && Objects.equals(fillColor, other.fillColor) && Objects.equals(outlineColor, other.outlineColor)
+            && thickness == other.thickness && alpha == other.alpha;
+    }
+
+    /**
+     * Copy the content of the given item into this one
+     * @param other (StaticItem): the item to copy, not null
+     */
+    void copy(StaticItem other) {
+        image = other.image;
+        shape = other.shape;
+        transform = other.transform;
+        fillColor = other.fillColor;
+        outlineColor = other.outlineColor;
+        thickness = other.thickness;
+        alpha = other.alpha;
+        depth = other.depth;
+    }
+
+    /** @return (Rectangle2D): bounds of the content in the area, not null */
+    Rectangle2D getBounds() {
+        if (image != null) {
+            // The image covers the unit square once transformed
+            Path2D.Float square = new Path2D.Float();
+            square.moveTo(0, 0);
+            square.lineTo(1, 0);
+            square.lineTo(1, 1);
+            square.lineTo(0, 1);
+            square.closePath();
+            square.transform(transform.getAffineTransform());
+            return square.getBounds2D();
+        }
+        Rectangle2D bounds = toPath().getBounds2D();
+        if (outlineColor != null && thickness > 0.0f)
+            bounds.setRect(bounds.getX() - thickness, bounds.getY() - thickness,
+                bounds.getWidth() + 2 * thickness, bounds.getHeight() + 2 * thickness);
+        return bounds;
+    }
+
+    /**
+     * Summarize what this item renders, to detect its changes between frames
+     * @return (long): a key of the source, transform, colors, transparency and depth
+     */
+    long getKey() {
+        long key = DamageTracker.mix(System.identityHashCode(getSource()), Float.floatToIntBits(thickness));
+        key = DamageTracker.mix(DamageTracker.mix(key, fillColor), outlineColor);
+        key = DamageTracker.mix(key, Float.floatToIntBits(alpha));
+        key = DamageTracker.mix(key, Float.floatToIntBits(depth));
+        return DamageTracker.mix(key, transform);
+    }
+
+    /**
+     * Compute the bounds of the content in the area, from the cached layer when possible
+     * @param bounds (double[]): receives the minimal x and y, then the maximal x and y, not null
+     */
+    void getBounds(double[] bounds) {
+        Rectangle2D box = layers.boundsOf(this);
+        bounds[0] = box.getMinX();
+        bounds[1] = box.getMinY();
+        bounds[2] = box.getMaxX();
+        bounds[3] = box.getMaxY();
+    }
+
+    /** @return (Path2D): the shape transformed in the area, not null */
+    private Path2D toPath() {
+        Path2D path = shape.toPath();
+        path.transform(transform.getAffineTransform());
+        return path;
+    }
+
+    /**
+     * Render the content without cache
+     * @param g (Graphics2D): target context, not null
+     */
+    void renderContent(Graphics2D g) {
+        if (image != null) {
+            imageItem.set(depth, alpha, transform, image);
+            imageItem.render(g);
+        } else {
+            shapeItem.set(shape.getPath(), transform, fillColor, outlineColor, thickness, alpha, depth);
+            shapeItem.render(g);
+        }
+    }
+
+    /// StaticItem implements Item
+
+    @Override
+    public float getDepth() {
+        return depth;
+    }
+
+    @Override
+    public void render(Graphics2D g) {
+        layers.render(g, this);
+    }
+}
@@ -0,0 +1,258 @@
+package play.window.swing;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.VolatileImage;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Cache of the static items rendered at the current view scale, one accelerated layer per item source.
+ * A layer is cut into tiles of the size of the viewport, rendered when they first become visible:
+ * each frame only copies the tiles inside the viewport, at their position in the view.
+ * The tiles are rendered again only when the content or the view scale changes (e.g. on resize),
+ * and the tiles out of view for a while are released, so large items (e.g. the background of a
+ * whole area) only keep the surroundings of the viewport in video memory.
+ * Note: used by the window render thread only
+ */
+final class StaticLayers {
+
+    /// Number of frames after which an unused layer is released
+    private static final int UNUSED_FRAMES = 600;
+    /// Number of frames after which a tile out of view is released
+    private static final int UNUSED_TILE_FRAMES = 60;
+    /// Transform to the device pixels
+    private static final AffineTransform DEVICE = new AffineTransform();
+
+    /**
+     * Rendered part of a layer
+     */
+    private static final class Tile {
+
+        private final VolatileImage image;
+        private long lastFrame;
+
+        private Tile(VolatileImage image) {
+            this.image = image;
+        }
+    }
+
+    /**
+     * Rendering of a static item at a given view scale
+     */
+    private static final class Layer {
+
+        /// Content of the layer
+        private final StaticItem content;
+        private final Rectangle2D bounds;
+        /// View transform, device position and size of the layer when it was scaled
+        private AffineTransform view;
+        private int originX, originY;
+        private double offsetX, offsetY;
+        private int width, height;
+        /// Size of the tiles, the viewport size when the layer was scaled
+        private int tileWidth, tileHeight;
+        /// Rendered tiles, by row and column
+        private final Map<Long, Tile> tiles = new HashMap<>();
+        private long lastFrame;
+
+        private Layer(StaticItem content, Rectangle2D bounds) {
+            this.content = content;
+            this.bounds = bounds;
+        }
+
+        /** Release all the tiles, rendered again when next visible */
+        private void flush() {
+            for (Tile tile : tiles.values())
+                tile.image.flush();
+            tiles.clear();
+        }
+    }
+
+    private final Map<Object, Layer> layers = new IdentityHashMap<>();
+    /// Number of frames rendered since the creation
+    private long frames;
+    /// Size of the viewport of the current frame, in device pixels
+    private int viewportWidth, viewportHeight;
+
+    /**
+     * Start a new frame, releasing the layers unused for a while, and the tiles out of view for a while
+     * @param viewportWidth (int): width of the viewport, in device pixels
+     * @param viewportHeight (int): height of the viewport, in device pixels
+     */
+    void beginFrame(int viewportWidth, int viewportHeight) {
+        ++frames;
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        Iterator<Layer> iterator = layers.values().iterator();
+        while (iterator.hasNext()) {
+            Layer layer = iterator.next();
+            if (frames - layer.lastFrame > UNUSED_FRAMES) {
+                layer.flush();
+                iterator.remove();
+                continue;
+            }
+            Iterator<Tile> tiles = layer.tiles.values().iterator();
+            while (tiles.hasNext()) {
+                Tile tile = tiles.next();
+                if (frames - tile.lastFrame > UNUSED_TILE_FRAMES) {
+                    tile.image.flush();
+                    tiles.remove();
+                }
+            }
+        }
+    }
+
+    /** Release all the layers, rendered again when next used */
+    void clear() {
+        for (Layer layer : layers.values())
+            layer.flush();
+        layers.clear();
+    }
+
+    /**
+     * Find the layer of an item, or prepare a new one if its content changed
+     * @param item (StaticItem): the item, not null
+     * @return (Layer): its layer, not null
+     */
+    private Layer layerOf(StaticItem item) {
+        Layer layer = layers.get(item.getSource());
+        if (layer == null || !item.hasSameContent(layer.content)) {
+            if (layer != null)
+                layer.flush();
+            StaticItem content = new StaticItem(this);
+            content.copy(item);
+            layer = new Layer(content, item.getBounds());
+            layers.put(item.getSource(), layer);
+        }
+        return layer;
+    }
+
+    /**
+     * Getter for the bounds of a static item, computed once per content
+     * @param item (StaticItem): the item, not null
+     * @return (Rectangle2D): its bounds in the area, not null
+     */
+    Rectangle2D boundsOf(StaticItem item) {
+        return layerOf(item).bounds;
+    }
+
+    /**
+     * Render a static item, copying the visible tiles of its cached layer when possible
+     * @param g (Graphics2D): target context, with the view transform, not null
+     * @param item (StaticItem): the item, not null
+     */
+    void render(Graphics2D g, StaticItem item) {
+        final AffineTransform view = g.getTransform();
+        if (view.getShearX() != 0.0 || view.getShearY() != 0.0) {
+            item.renderContent(g);
+            return;
+        }
+
+        Layer layer = layerOf(item);
+        layer.lastFrame = frames;
+        if (viewportWidth <= 0 || viewportHeight <= 0)
+            return;
+
+        // Bounds of the layer in device pixels
+        Rectangle2D bounds = layer.bounds;
+        double x0 = view.getScaleX() * bounds.getMinX() + view.getTranslateX();
+        double x1 = view.getScaleX() * bounds.getMaxX() + view.getTranslateX();
+        double y0 = view.getScaleY() * bounds.getMinY() + view.getTranslateY();
+        double y1 = view.getScaleY() * bounds.getMaxY() + view.getTranslateY();
+        double left = Math.min(x0, x1);
+        double top = Math.min(y0, y1);
+
+        // Cut the layer again if the scale or the viewport size changed
+        boolean scaled = layer.view == null || layer.view.getScaleX() != view.getScaleX() || layer.view.getScaleY() != view.getScaleY();
+        if (scaled || layer.tileWidth != Math.min(layer.width, viewportWidth) || layer.tileHeight != Math.min(layer.height, viewportHeight)) {
+            layer.flush();
+            layer.view = view;
+            layer.originX = (int) Math.floor(left);
+            layer.originY = (int) Math.floor(top);
+            layer.offsetX = left - layer.originX;
+            layer.offsetY = top - layer.originY;
+            // The size only depends on the scale, one more pixel leaves room for the sub-pixel offset
+            layer.width = (int) Math.ceil(Math.abs(x1 - x0)) + 1;
+            layer.height = (int) Math.ceil(Math.abs(y1 - y0)) + 1;
+            layer.tileWidth = Math.min(layer.width, viewportWidth);
+            layer.tileHeight = Math.min(layer.height, viewportHeight);
+        }
+
+        // Position of the layer, moved as the view since it was scaled, and its part inside the viewport
+        int layerX = (int) Math.round(left - layer.offsetX);
+        int layerY = (int) Math.round(top - layer.offsetY);
+        int visibleLeft = Math.max(0, -layerX);
+        int visibleTop = Math.max(0, -layerY);
+        int visibleRight = Math.min(layer.width, viewportWidth - layerX);
+        int visibleBottom = Math.min(layer.height, viewportHeight - layerY);
+        if (visibleLeft >= visibleRight || visibleTop >= visibleBottom)
+            return;
+
+        // Copy the visible tiles only, rendering the ones never visible yet
+        g.setTransform(DEVICE);
+        for (int row = visibleTop / layer.tileHeight; row <= (visibleBottom - 1) / layer.tileHeight; ++row) {
+            for (int column = visibleLeft / layer.tileWidth; column <= (visibleRight - 1) / layer.tileWidth; ++column) {
+                Tile tile = tileOf(g, layer, column, row);
+                g.drawImage(tile.image, layerX + column * layer.tileWidth, layerY + row * layer.tileHeight, null);
+            }
+        }
+        g.setTransform(view);
+    }
+
+    /**
+     * Find a tile of a layer, rendering it if new or if its image was lost
+     * @param g (Graphics2D): the target context, whose hints are used, not null
+     * @param layer (Layer): the layer, not null
+     * @param column (int): column of the tile in the layer
+     * @param row (int): row of the tile in the layer
+     * @return (Tile): the rendered tile, not null
+     */
+    private Tile tileOf(Graphics2D g, Layer layer, int column, int row) {
+        final GraphicsConfiguration config = g.getDeviceConfiguration();
+        final Long key = ((long) row << 32) | column;
+        final int x = column * layer.tileWidth;
+        final int y = row * layer.tileHeight;
+        Tile tile = layer.tiles.get(key);
+        if (tile == null || tile.image.validate(config) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (tile != null)
+                tile.image.flush();
+            int width = Math.min(layer.tileWidth, layer.width - x);
+            int height = Math.min(layer.tileHeight, layer.height - y);
+            tile = new Tile(config.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT));
+            tile.image.validate(config);
+            layer.tiles.put(key, tile);
+            paint(g, layer, tile, x, y);
+        } else if (tile.image.contentsLost()) {
+            paint(g, layer, tile, x, y);
+        }
+        tile.lastFrame = frames;
+        return tile;
+    }
+
+    /**
+     * Render the content of a layer into one of its tiles
+     * @param g (Graphics2D): the target context, whose hints are used, not null
+     * @param layer (Layer): the layer, not null
+     * @param tile (Tile): the tile, not null
+     * @param x (int): column of the tile top left corner in the layer, in pixels
+     * @param y (int): row of the tile top left corner in the layer, in pixels
+     */
+    private void paint(Graphics2D g, Layer layer, Tile tile, int x, int y) {
+        Graphics2D graphics = tile.image.createGraphics();
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, tile.image.getWidth(), tile.image.getHeight());
+        graphics.setComposite(AlphaComposite.SrcOver);
+        graphics.setRenderingHints(g.getRenderingHints());
+        graphics.translate(-layer.originX - x, -layer.originY - y);
+        graphics.transform(layer.view);
+        layer.content.renderContent(graphics);
+        graphics.dispose();
+    }
+}
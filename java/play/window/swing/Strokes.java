@@ -0,0 +1,33 @@
+package play.window.swing;
+
+import java.awt.BasicStroke;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared strokes, by thickness, instead of a new one for each outline drawn
+ */
+final class Strokes {
+
+    /// Maximal number of cached strokes, the cache is emptied beyond
+    private static final int MAX_STROKES = 64;
+    private static final Map<Float, BasicStroke> STROKES = new ConcurrentHashMap<>();
+
+    private Strokes() {}
+
+    /**
+     * Getter for a stroke
+     * @param thickness (float): the line width, not negative
+     * @return (BasicStroke): a stroke of the given width, not null
+     */
+    static BasicStroke get(float thickness) {
+        BasicStroke stroke = STROKES.get(thickness);
+        if (stroke == null) {
+            if (STROKES.size() >= MAX_STROKES)
+                STROKES.clear();
+            stroke = new BasicStroke(thickness);
+            STROKES.put(thickness, stroke);
+        }
+        return stroke;
+    }
+}
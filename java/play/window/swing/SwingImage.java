@@ -18,7 +18,10 @@ import javax.imageio.ImageIO;
 public final class SwingImage implements Image {
 
     // Package-protected, for efficient access
+    /// Pixels of the image: either its own copy, or the whole sheet shared by all its regions
     final BufferedImage image;
+    /// Region of the image pixels covered by this image
+    final int x, y, width, height;
 
     /**
      * Creates an image from specified image.
@@ -46,6 +49,10 @@ public final class SwingImage implements Image {
 
 		// Create optimized buffered image
 		this.image = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		this.x = 0;
+		this.y = 0;
+		this.width = width;
+		this.height = height;
 		
 		// Draw original image in buffer
 		final Graphics2D graphics = this.image.createGraphics();
@@ -72,6 +79,58 @@ public final class SwingImage implements Image {
         this(ImageIO.read(stream), roi, removeBackground);
     }
 
+    /**
+     * Creates an image from a region of a sheet, without copying it: the sheet is shared by all its regions
+     * @param sheet (BufferedImage): the whole sheet, compatible with the screen, not null
+     * @param roi (RegionOfInterest): rectangle of interest in the sheet, may be null for the whole sheet
+     */
+    SwingImage(BufferedImage sheet, RegionOfInterest roi) {
+        this(sheet, 0, 0, sheet.getWidth(), sheet.getHeight(), roi);
+    }
+
+    /**
+     * Creates an image from a region of a sprite packed in a larger sheet, without copying it
+     * @param sheet (BufferedImage): the sheet containing the sprite, compatible with the screen, not null
+     * @param originX (int): column of the sprite top left corner in the sheet
+     * @param originY (int): row of the sprite top left corner in the sheet
+     * @param width (int): width of the sprite
+     * @param height (int): height of the sprite
+     * @param roi (RegionOfInterest): rectangle of interest in the sprite, may be null for the whole sprite
+     */
+    SwingImage(BufferedImage sheet, int originX, int originY, int width, int height, RegionOfInterest roi) {
+        this.image = sheet;
+        if (roi == null) {
+            this.x = originX;
+            this.y = originY;
+            this.width = width;
+            this.height = height;
+        } else {
+            // Clamped to the sprite, so that the region never reads the neighbors of the sprite in its sheet
+            this.x = originX + roi.x;
+            this.y = originY + roi.y;
+            this.width = Math.min(width - roi.x, roi.w);
+            this.height = Math.min(height - roi.y, roi.h);
+        }
+    }
+
+    /**
+     * Decode a whole sheet into an image optimized for the screen
+     * @param stream (InputStream): valid image input stream, not null
+     * @return (BufferedImage): the decoded sheet, not null
+     * @throws IOException if an error occurs during reading
+     */
+    static BufferedImage readSheet(InputStream stream) throws IOException {
+        final java.awt.Image decoded = ImageIO.read(stream);
+        if (decoded == null)
+            throw new IOException("Unknown image format");
+        final GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        final BufferedImage sheet = config.createCompatibleImage(decoded.getWidth(null), decoded.getHeight(null), Transparency.TRANSLUCENT);
+        final Graphics2D graphics = sheet.createGraphics();
+        graphics.drawImage(decoded, 0, 0, null);
+        graphics.dispose();
+        return sheet;
+    }
+
     /**
      * Remove uniform background from an image, putting full alpha instead.
      * Useful to integrate Sprite which are given with uniform background color
@@ -99,17 +158,22 @@ public final class SwingImage implements Image {
 
     @Override
     public int getWidth() {
-        return image.getWidth();
+        return width;
     }
 
     @Override
     public int getHeight() {
-        return image.getHeight();
+        return height;
     }
 
     @Override
     public int getRGB(int r, int c){
-        return image.getRGB(c, r);
+        return image.getRGB(x + c, y + r);
+    }
+
+    @Override
+    public int[] getPixels() {
+        return image.getRGB(x, y, width, height, null, 0, width);
     }
     
 }
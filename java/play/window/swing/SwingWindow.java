@@ -10,7 +10,8 @@ import java.awt.Graphics2D;
 import java.awt.MouseInfo;
 import java.awt.Point;
 import java.awt.PointerInfo;
-import java.awt.RenderingHints;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
 import java.awt.Toolkit;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
@@ -20,11 +21,16 @@ import java.awt.event.MouseWheelEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Path2D;
 import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.sound.sampled.UnsupportedAudioFileException;
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
@@ -34,12 +40,44 @@ import javax.swing.SwingUtilities;
  */
 public final class SwingWindow extends Node implements Window {
 
+	// Memory budget of the decoded images by default, in bytes
+	private static final long DEFAULT_IMAGE_BUDGET = 64L << 20;
+
 	// File system
 	private final FileSystem fileSystem;
 
-	// Image stuff
-	private final Map<String, SwingImage> images;
-	private final List<Item> gItems;
+	// Image stuff: precompiled pixels, packed sprites and images of their regions, then decoded sheets within a memory budget
+	private final AssetPack assets;
+	private final TextureAtlas atlas;
+	private final Map<String, SwingImage> packedImages;
+	private final ImageCache imageCache;
+	// Sheets being decoded in background, moved into the image cache once decoded, and the workers decoding them, created when first needed
+	private final Map<String, Future<BufferedImage>> preloadedSheets;
+	private ExecutorService preloader;
+
+	// Render pipeline: the game fills the draw frame while the render thread presents the ready one
+	private final Object renderLock;
+	private final Deque<Frame> freeFrames;
+	private Frame drawFrame;
+	private Frame readyFrame;
+	private boolean rendering;
+	private long droppedFrames;
+	// Number of draw commands allocated and recycled, by the game thread
+	private long allocatedItems;
+	private long recycledItems;
+	private final Thread renderThread;
+	// Depth ordering of the rendered frame, cached static items and text layouts, used by the render thread only
+	private final RenderQueue renderQueue;
+	private final StaticLayers staticLayers;
+	private final TextLayouts textLayouts;
+	// Dirty rectangles mode: only the changed regions of the previous frame, kept in its own buffer, are repainted
+	private volatile boolean dirtyRendering;
+	private volatile float repaintedArea;
+	private final DamageTracker damageTracker;
+	private VolatileImage frameBuffer;
+	// Rendering quality profile, as requested and as used by the render thread
+	private volatile RenderingQuality quality;
+	private RenderingQuality renderedQuality;
 
 	//Sound Stuff
 	private final Map<String, SwingSound> sounds;
@@ -52,10 +90,60 @@ public final class SwingWindow extends Node implements Window {
 
 	// State information
 	private volatile boolean closeRequested;
+	private volatile boolean disposed;
 	private Button focus;
 	private final MouseProxy mouseProxy;
 	private final KeyboardProxy keyboardProxy;
 	
+	// Define the content of a frame, handed from the game to the render thread
+	private static final class Frame {
+
+		private final List<Item> items = new ArrayList<>();
+		private Transform viewToWorld = Transform.I;
+		// Draw commands owned by the frame, recycled once it is rendered
+		private final Pool<ImageItem> imageItems = new Pool<>();
+		private final Pool<ShapeItem> shapeItems = new Pool<>();
+		private final Pool<TextItem> textItems = new Pool<>();
+		private final Pool<StaticItem> staticItems = new Pool<>();
+
+		/** Forget the items of this frame, its draw commands become available again */
+		private void clear() {
+			items.clear();
+			imageItems.recycle();
+			shapeItems.recycle();
+			textItems.recycle();
+			staticItems.recycle();
+		}
+	}
+
+	// Define a set of reusable draw commands of a frame
+	private static final class Pool<T extends Item> {
+
+		private final List<T> items = new ArrayList<>();
+		private int used;
+
+		/** @return (T): an unused item, or null if all are in use */
+		private T next() {
+			return used < items.size() ? items.get(used++) : null;
+		}
+
+		/**
+		 * Add a new item to the pool, already in use
+		 * @param item (T): the item, not null
+		 * @return (T): the given item
+		 */
+		private T add(T item) {
+			items.add(item);
+			++used;
+			return item;
+		}
+
+		/** Mark all the items as unused */
+		private void recycle() {
+			used = 0;
+		}
+	}
+
 	// Define mouse manager
 	private final class MouseProxy extends MouseAdapter implements Mouse {
 
@@ -149,11 +237,39 @@ public final class SwingWindow extends Node implements Window {
 	 * @param height (int): height in pixel of the window
 	 */
 	public SwingWindow(String title, FileSystem fileSystem, int width, int height) {
+		this(title, fileSystem, width, height, RenderingQuality.BALANCED);
+	}
+
+	/**
+	 * Creates a new window.
+	 * @param title (String): window caption
+	 * @param fileSystem (FileSystem): source used to load images
+	 * @param width (int): width in pixel of the window
+	 * @param height (int): height in pixel of the window
+	 * @param quality (RenderingQuality): initial rendering quality profile, not null
+	 */
+	public SwingWindow(String title, FileSystem fileSystem, int width, int height, RenderingQuality quality) {
+		if (quality == null)
+			throw new NullPointerException();
+		this.quality = quality;
 
 		// Prepare image and sound loader
 		this.fileSystem = fileSystem;
-		images = new HashMap<>();
-		gItems = new ArrayList<>();
+		assets = AssetPack.load(fileSystem);
+		atlas = TextureAtlas.load(fileSystem, assets);
+		packedImages = new HashMap<>();
+		imageCache = new ImageCache(DEFAULT_IMAGE_BUDGET);
+		preloadedSheets = new HashMap<>();
+		renderLock = new Object();
+		renderQueue = new RenderQueue();
+		staticLayers = new StaticLayers();
+		textLayouts = new TextLayouts();
+		damageTracker = new DamageTracker();
+		freeFrames = new ArrayDeque<>();
+		// One frame drawn, one ready and one being rendered
+		drawFrame = new Frame();
+		freeFrames.push(new Frame());
+		freeFrames.push(new Frame());
 		sounds = new HashMap<>();
 		aItems = new ArrayList<>();
 
@@ -193,6 +309,11 @@ public final class SwingWindow extends Node implements Window {
 		frame.setSize(width, height);
 		frame.setResizable(true);
 		frame.setVisible(true);
+
+		// Start rendering
+		renderThread = new Thread(this::renderLoop, "SwingWindow render");
+		renderThread.setDaemon(true);
+		renderThread.start();
 	}
 
 	@Override
@@ -217,6 +338,115 @@ public final class SwingWindow extends Node implements Window {
 
 	@Override
 	public void update() {
+		// Clean the audio item by removing terminated ones
+		if(isSoundSupported())
+			aItems.removeIf(SoundItem::isFinish);
+
+		// Hand the drawn frame over to the render thread
+		drawFrame.viewToWorld = getTransform();
+		synchronized (renderLock) {
+			if (readyFrame != null) {
+				// The render thread is late: drop the older frame
+				readyFrame.clear();
+				freeFrames.push(readyFrame);
+				++droppedFrames;
+			}
+			readyFrame = drawFrame;
+			drawFrame = freeFrames.pop();
+			renderLock.notifyAll();
+		}
+
+		adoptPreloadedSheets();
+		pollInput();
+	}
+
+	// Render thread body: present each ready frame until the window is disposed
+	private void renderLoop() {
+		while (true) {
+			Frame frame;
+			synchronized (renderLock) {
+				while (readyFrame == null && !disposed) {
+					try {
+						renderLock.wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				if (disposed)
+					return;
+				frame = readyFrame;
+				readyFrame = null;
+				rendering = true;
+			}
+
+			// A failed frame is reported and skipped, the frame always going back to the game thread
+			try {
+				render(frame);
+			} catch (RuntimeException e) {
+				System.out.println("Rendering failed, frame skipped: " + e);
+				renderQueue.clear();
+				damageTracker.invalidate();
+			} finally {
+				synchronized (renderLock) {
+					frame.clear();
+					freeFrames.push(frame);
+					rendering = false;
+				}
+			}
+		}
+	}
+
+	/** @return (int): number of frames handed to the render thread and not presented yet */
+	public int getQueueDepth() {
+		synchronized (renderLock) {
+			return (readyFrame != null ? 1 : 0) + (rendering ? 1 : 0);
+		}
+	}
+
+	/** @return (long): number of frames dropped because the render thread was late */
+	public long getDroppedFrames() {
+		synchronized (renderLock) {
+			return droppedFrames;
+		}
+	}
+
+	/**
+	 * Getter for the number of draw commands allocated since the window creation
+	 * Stays constant once the pools of the frames are large enough, should be read from the game thread
+	 * @return (long): the number of allocated image, shape, text and static items
+	 */
+	public long getAllocatedItems() {
+		return allocatedItems;
+	}
+
+	/**
+	 * Getter for the number of draw commands reused since the window creation
+	 * Should be read from the game thread
+	 * @return (long): the number of recycled image, shape, text and static items
+	 */
+	public long getRecycledItems() {
+		return recycledItems;
+	}
+
+	/**
+	 * Take an unused item of the given pool
+	 * @param pool (Pool): the pool of the draw frame, not null
+	 * @return (T): the recycled item, or null if a new one must be allocated
+	 */
+	private <T extends Item> T recycle(Pool<T> pool) {
+		T item = pool.next();
+		if (item == null)
+			++allocatedItems;
+		else
+			++recycledItems;
+		return item;
+	}
+
+	/**
+	 * Renders the given frame, called on the render thread only
+	 * @param frame (Frame): frame to render, not null
+	 */
+	private void render(Frame frame) {
 		// Compute viewport metrics
 		final int width = canvas.getWidth();
 		final int height = canvas.getHeight();
@@ -229,7 +459,7 @@ public final class SwingWindow extends Node implements Window {
 			halfX = (float) width / (float) height;
 			halfY = 1.0f;
 		}
-		final Transform viewToWorld = getTransform();
+		final Transform viewToWorld = frame.viewToWorld;
 		final Transform worldToView = viewToWorld.inverted();
 		final Transform projection = new Transform(width / halfX, 0.0f, 0.5f * width, 0.0f, -height / halfY, 0.5f * height);
 		final Transform transform = worldToView.transformed(projection);
@@ -242,34 +472,154 @@ public final class SwingWindow extends Node implements Window {
 
 		// Create graphic context
 		final Graphics2D graphics = (Graphics2D) strategy.getDrawGraphics();
-
-		// Clear background
-		graphics.setColor(canvas.getBackground());
-		graphics.fillRect(0, 0, width, height);
-
-		// Enable anti-aliasing
-		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-
-		// Set view transform
 		final AffineTransform affine = new AffineTransform(transform.m00, transform.m10, transform.m01,
 				transform.m11, transform.m02, transform.m12);
-		graphics.transform(affine);
 
-		// Render ordered drawable
-		Collections.sort(gItems);
-		for (Item item : gItems)
-			item.render(graphics);
+		// Cached renderings use the hints of their profile: drop them when it changes
+		if (renderedQuality != quality) {
+			renderedQuality = quality;
+			staticLayers.clear();
+			textLayouts.clear();
+			damageTracker.invalidate();
+		}
 
-		// Clean the audio item by removing terminated ones
-		if(isSoundSupported())
-			aItems.removeIf(SoundItem::isFinish);
+		// Render ordered drawable
+		staticLayers.beginFrame(width, height);
+		renderQueue.addAll(frame.items);
+		if (dirtyRendering && width > 0 && height > 0) {
+			renderDirty(graphics, frame, affine, width, height);
+		} else {
+			damageTracker.invalidate();
+			paint(graphics, affine, width, height);
+			repaintedArea = 1.0f;
+		}
+		renderQueue.clear();
 
 		// Finalize rendering
 		graphics.dispose();
 		strategy.show();
 		Toolkit.getDefaultToolkit().sync();
-		gItems.clear();
+	}
+
+	/**
+	 * Repaint the changed regions of the frame buffer, then present it, called on the render thread only
+	 * @param graphics (Graphics2D): context of the presented buffer, not null
+	 * @param frame (Frame): frame to render, whose items are queued, not null
+	 * @param affine (AffineTransform): view transform, not null
+	 * @param width (int): canvas width
+	 * @param height (int): canvas height
+	 */
+	private void renderDirty(Graphics2D graphics, Frame frame, AffineTransform affine, int width, int height) {
+		// Keep a frame buffer as large as the canvas, repainted entirely when lost
+		final GraphicsConfiguration config = canvas.getGraphicsConfiguration();
+		int status = frameBuffer == null ? VolatileImage.IMAGE_INCOMPATIBLE : frameBuffer.validate(config);
+		if (status == VolatileImage.IMAGE_INCOMPATIBLE || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+			if (frameBuffer != null)
+				frameBuffer.flush();
+			frameBuffer = config.createCompatibleVolatileImage(width, height);
+			frameBuffer.validate(config);
+			damageTracker.invalidate();
+		} else if (status == VolatileImage.IMAGE_RESTORED) {
+			damageTracker.invalidate();
+		}
+
+		List<Rectangle> damage = damageTracker.update(frame.items, affine, width, height);
+		Graphics2D buffer = frameBuffer.createGraphics();
+		if (damage == null) {
+			paint(buffer, affine, width, height);
+			repaintedArea = 1.0f;
+		} else {
+			long area = 0;
+			for (Rectangle rectangle : damage) {
+				buffer.setClip(rectangle);
+				paint(buffer, affine, width, height);
+				area += (long) rectangle.width * rectangle.height;
+			}
+			repaintedArea = (float) area / ((float) width * height);
+		}
+		buffer.dispose();
+		if (frameBuffer.contentsLost())
+			damageTracker.invalidate();
+		graphics.drawImage(frameBuffer, 0, 0, null);
+	}
+
+	/**
+	 * Paint the queued items over the background, within the current clip of the context
+	 * @param g (Graphics2D): target context, not null
+	 * @param affine (AffineTransform): view transform, not null
+	 * @param width (int): canvas width
+	 * @param height (int): canvas height
+	 */
+	private void paint(Graphics2D g, AffineTransform affine, int width, int height) {
+		final AffineTransform device = g.getTransform();
+
+		// Clear background
+		g.setColor(canvas.getBackground());
+		g.fillRect(0, 0, width, height);
+
+		// Set the hints of the quality profile
+		renderedQuality.apply(g);
+
+		// Set view transform
+		g.transform(affine);
+		renderQueue.render(g);
+		g.setTransform(device);
+	}
+
+	/**
+	 * Enable or disable the dirty rectangles mode, fit for mostly static scenes:
+	 * only the regions changed since the previous frame are repainted, unless the view moved
+	 * @param dirtyRendering (boolean): true to repaint the changed regions only
+	 */
+	public void setDirtyRendering(boolean dirtyRendering) {
+		this.dirtyRendering = dirtyRendering;
+	}
+
+	/**
+	 * Select the rendering quality profile, used from the next rendered frame
+	 * @param quality (RenderingQuality): the profile, not null
+	 */
+	public void setRenderingQuality(RenderingQuality quality) {
+		if (quality == null)
+			throw new NullPointerException();
+		this.quality = quality;
+	}
+
+	/** @return (RenderingQuality): the selected rendering quality profile, not null */
+	public RenderingQuality getRenderingQuality() {
+		return quality;
+	}
+
+	/**
+	 * Enable or disable the bitmaps of the rendered text runs, enabled by default.
+	 * Texts are measured once either way, the bitmaps also avoid rasterizing them each frame.
+	 * Profiles with LCD text (e.g. QUALITY) always draw the texts directly, sub-pixel text needing the destination pixels
+	 * @param enabled (boolean): true to draw the texts from cached bitmaps when possible
+	 */
+	public void setTextRunCache(boolean enabled) {
+		textLayouts.setRunCacheEnabled(enabled);
+	}
+
+	/** @return (float): part of the canvas repainted for the last rendered frame, between 0 and 1 */
+	public float getRepaintedArea() {
+		return repaintedArea;
+	}
+
+	@Override
+	public void pollInput() {
+		// Compute viewport metrics
+		final int width = canvas.getWidth();
+		final int height = canvas.getHeight();
+		float halfX;
+		float halfY;
+		if (width > height) {
+			halfX = 1.0f;
+			halfY = (float) height / (float) width;
+		} else {
+			halfX = (float) width / (float) height;
+			halfY = 1.0f;
+		}
+		final Transform viewToWorld = getTransform();
 
 		// Update window state
 		focus = focus.updated(canvas.hasFocus());
@@ -305,35 +655,238 @@ public final class SwingWindow extends Node implements Window {
 
 	@Override
 	public void dispose() {
+		// Stop rendering before releasing the frame
+		synchronized (renderLock) {
+			disposed = true;
+			renderLock.notifyAll();
+		}
+		try {
+			renderThread.join();
+		} catch (InterruptedException e) {
+			System.out.println("Render thread join interrupted");
+		}
+		if (preloader != null)
+			preloader.shutdownNow();
 		playSound(null, false,0.0f, false, false, true);
 		frame.dispose();
 	}
 
 	@Override
 	public SwingImage getImage(String name, RegionOfInterest roi, boolean removeBackground) {
-		SwingImage image = images.get(name+roi);
+		final String region = String.valueOf(roi);
+
+		// Packed sprites are regions of the atlas pages, always kept
+		if (!removeBackground) {
+			TextureAtlas.Region packed = atlas.get(name);
+			if (packed != null && isInside(roi, packed.width, packed.height)) {
+				SwingImage image = packedImages.get(name + region);
+				if (image == null) {
+					image = new SwingImage(packed.page, packed.x, packed.y, packed.width, packed.height, roi);
+					packedImages.put(name + region, image);
+				}
+				return image;
+			}
+		}
+
+		// Regions share the sheet they come from, except when the background is removed:
+		// its color depends on the region, which then needs its own copy
+		final String key = removeBackground ? name + region : name;
+		ImageCache.Entry entry = imageCache.get(key);
+		if (entry == null) {
+			if (imageCache.isMissing(key))
+				return null;
+			if (removeBackground)
+				return readWithoutBackground(name, roi, key);
+			entry = readSheet(name);
+			if (entry == null)
+				return null;
+		}
+		SwingImage image = entry.getRegion(region);
 		if (image == null) {
-			InputStream input = null;
-			try {
+			image = new SwingImage(entry.pixels, roi);
+			entry.putRegion(region, image);
+		}
+		return image;
+	}
+
+	/**
+	 * Reads a region of an image from file system, removing its uniform background
+	 * @param name (String): full name of the image, not null
+	 * @param roi (RegionOfInterest): region of interest, may be null
+	 * @param key (String): key of the image in the cache, not null
+	 * @return (SwingImage): the image, null on error
+	 */
+	private SwingImage readWithoutBackground(String name, RegionOfInterest roi, String key) {
+		SwingImage image = null;
+		InputStream input = null;
+		try {
+			BufferedImage packed = assets.read(name);
+			if (packed != null) {
+				image = new SwingImage(packed, roi, true);
+			} else {
 				input = fileSystem.read(name);
-				image = new SwingImage(input, roi, removeBackground);
+				image = new SwingImage(input, roi, true);
+			}
+		} catch (IOException e) {
+			// Empty on purpose, will return null as an error
+			System.out.println("File :"+ name +" not found");
+		} finally {
+			try {
+				if (input != null)
+					input.close();
 			} catch (IOException e) {
-				// Empty on purpose, will return null as an error
-				System.out.println("File :"+ name +" not found");
-			} finally {
-				try {
-					if (input != null)
-						input.close();
-				} catch (IOException e) {
-					// Empty on purpose
-				}
+				// Empty on purpose
 			}
-			images.put(name+roi, image);
-			// finer handling of memory can be added if needed
 		}
+		ImageCache.Entry entry = imageCache.put(key, image != null ? image.image : null);
+		if (entry != null)
+			entry.putRegion(String.valueOf(roi), image);
 		return image;
 	}
 
+	/**
+	 * Keep the given images whatever the memory budget, e.g. the images of the current area
+	 * The previously pinned images become releasable again
+	 * @param names (Collection of String): full names of the images, not null
+	 */
+	@Override
+	public void pinImages(Collection<String> names) {
+		imageCache.pin(names);
+	}
+
+	/**
+	 * Setter for the memory budget of the decoded images, the atlas pages excepted
+	 * @param bytes (long): the budget, in bytes, assuming 4 bytes per pixel
+	 */
+	public void setImageBudget(long bytes) {
+		imageCache.setBudget(bytes);
+	}
+
+	/** @return (long): memory used by the decoded images, in bytes, the atlas pages excepted */
+	public long getImageBytes() {
+		return imageCache.getBytes();
+	}
+
+	/** @return (long): number of image lookups served by the cache since the window creation */
+	public long getImageHits() {
+		return imageCache.getHits();
+	}
+
+	/** @return (long): number of image lookups which needed a decoding since the window creation */
+	public long getImageMisses() {
+		return imageCache.getMisses();
+	}
+
+	/** @return (long): number of decoded images released to stay within the budget since the window creation */
+	public long getImageEvictions() {
+		return imageCache.getEvictions();
+	}
+
+	@Override
+	public void preloadImages(Collection<String> names) {
+		adoptPreloadedSheets();
+		for (String name : names) {
+			// Images of the pack are only a copy away, not worth a thread
+			if (imageCache.contains(name) || preloadedSheets.containsKey(name) || atlas.get(name) != null || assets.contains(name))
+				continue;
+			if (preloader == null) {
+				int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+				preloader = Executors.newFixedThreadPool(workers, runnable -> {
+					Thread thread = new Thread(runnable, "Image preloader");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			preloadedSheets.put(name, preloader.submit(() -> {
+				try (InputStream input = fileSystem.read(name)) {
+					return SwingImage.readSheet(input);
+				}
+			}));
+		}
+	}
+
+	/** @return (int): number of sheets announced for preloading and still being decoded */
+	public int getPreloadedSheetsCount() {
+		return preloadedSheets.size();
+	}
+
+	/**
+	 * Move the sheets decoded in background into the image cache, as unpinned images:
+	 * they count in its budget, and are released like any other if not drawn
+	 */
+	private void adoptPreloadedSheets() {
+		Iterator<Map.Entry<String, Future<BufferedImage>>> iterator = preloadedSheets.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, Future<BufferedImage>> preloaded = iterator.next();
+			if (!preloaded.getValue().isDone())
+				continue;
+			iterator.remove();
+			try {
+				imageCache.put(preloaded.getKey(), preloaded.getValue().get());
+			} catch (ExecutionException e) {
+				System.out.println("File :"+ preloaded.getKey() +" not found");
+				imageCache.put(preloaded.getKey(), null);
+			} catch (InterruptedException e) {
+				// Not possible once done, read again when first drawn
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Indicate if a region of interest is inside an image, so that it does not overlap its neighbors in an atlas page
+	 * @param roi (RegionOfInterest): the region, may be null for the whole image
+	 * @param width (int): the image width
+	 * @param height (int): the image height
+	 * @return (boolean): true if the region is inside the image
+	 */
+	private static boolean isInside(RegionOfInterest roi, int width, int height) {
+		return roi == null || (roi.x >= 0 && roi.y >= 0 && roi.x + roi.w <= width && roi.y + roi.h <= height);
+	}
+
+	/**
+	 * Reads a whole sheet from file system, shared by all its regions
+	 * @param name (String): full name of the sheet, not null
+	 * @return (ImageCache.Entry): the cached sheet, null on error
+	 */
+	private ImageCache.Entry readSheet(String name) {
+		// Take it from the preloader if announced, waiting for its decoding if not done yet
+		Future<BufferedImage> preloaded = preloadedSheets.remove(name);
+		if (preloaded != null) {
+			try {
+				return imageCache.put(name, preloaded.get());
+			} catch (ExecutionException e) {
+				System.out.println("File :"+ name +" not found");
+				return imageCache.put(name, null);
+			} catch (InterruptedException e) {
+				// Decode it here instead
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		// Precompiled pixels are copied from the pack, without decoding
+		BufferedImage sheet = assets.read(name);
+		if (sheet != null)
+			return imageCache.put(name, sheet);
+		InputStream input = null;
+		try {
+			input = fileSystem.read(name);
+			sheet = SwingImage.readSheet(input);
+		} catch (IOException e) {
+			// Empty on purpose, will return null as an error
+			System.out.println("File :"+ name +" not found");
+		} finally {
+			try {
+				if (input != null)
+					input.close();
+			} catch (IOException e) {
+				// Empty on purpose
+			}
+		}
+		return imageCache.put(name, sheet);
+	}
+
+
 	/**
 	 * Add specified item to current draw list.
 	 * @param item (Item) any item, not null
@@ -341,7 +894,7 @@ public final class SwingWindow extends Node implements Window {
 	public void draw(Item item) {
 		if (item == null)
 			throw new NullPointerException();
-		gItems.add(item);
+		drawFrame.items.add(item);
 	}
 
 	@Override
@@ -350,7 +903,11 @@ public final class SwingWindow extends Node implements Window {
 			throw new NullPointerException();
 		if (image == null || alpha <= 0.0f)
 			return;
-		gItems.add(new ImageItem(depth, alpha, transform, (SwingImage) image));
+		ImageItem item = recycle(drawFrame.imageItems);
+		if (item == null)
+			item = drawFrame.imageItems.add(new ImageItem());
+		item.set(depth, alpha, transform, (SwingImage) image);
+		drawFrame.items.add(item);
 	}
 
 	@Override
@@ -359,9 +916,11 @@ public final class SwingWindow extends Node implements Window {
 			throw new NullPointerException();
 		if (shape == null || alpha <= 0.0f || (fillColor == null && (outlineColor == null || thickness <= 0.0f)))
 			return;
-		Path2D path = shape.toPath();
-		path.transform(transform.getAffineTransform());
-		gItems.add(new ShapeItem(path, fillColor, outlineColor, thickness, alpha, depth));
+		ShapeItem item = recycle(drawFrame.shapeItems);
+		if (item == null)
+			item = drawFrame.shapeItems.add(new ShapeItem());
+		item.set(shape.getPath(), transform, fillColor, outlineColor, thickness, alpha, depth);
+		drawFrame.items.add(item);
 	}
 
 	@Override
@@ -371,7 +930,37 @@ public final class SwingWindow extends Node implements Window {
 			throw new NullPointerException();
 		if (text == null || fontSize <= 0.0f || alpha <= 0.0f || (fillColor == null && (outlineColor == null || thickness <= 0.0f)))
 			return;
-		gItems.add(new TextItem(text, fontSize, transform, fillColor, outlineColor, thickness, bold, italics, anchor, hAlign, vAlign, depth, alpha));
+		TextItem item = recycle(drawFrame.textItems);
+		if (item == null)
+			item = drawFrame.textItems.add(new TextItem(textLayouts));
+		item.set(text, fontSize, transform, fillColor, outlineColor, thickness, bold, italics, anchor, hAlign, vAlign, depth, alpha);
+		drawFrame.items.add(item);
+	}
+
+	@Override
+	public void drawStaticImage(Image image, Transform transform, float alpha, float depth) {
+		if (transform == null)
+			throw new NullPointerException();
+		if (image == null || alpha <= 0.0f)
+			return;
+		StaticItem item = recycle(drawFrame.staticItems);
+		if (item == null)
+			item = drawFrame.staticItems.add(new StaticItem(staticLayers));
+		item.setImage((SwingImage) image, transform, alpha, depth);
+		drawFrame.items.add(item);
+	}
+
+	@Override
+	public void drawStaticShape(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
+		if (transform == null)
+			throw new NullPointerException();
+		if (shape == null || alpha <= 0.0f || (fillColor == null && (outlineColor == null || thickness <= 0.0f)))
+			return;
+		StaticItem item = recycle(drawFrame.staticItems);
+		if (item == null)
+			item = drawFrame.staticItems.add(new StaticItem(staticLayers));
+		item.setShape(shape, transform, fillColor, outlineColor, thickness, alpha, depth);
+		drawFrame.items.add(item);
 	}
 
 	@Override
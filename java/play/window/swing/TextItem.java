@@ -1,7 +1,6 @@
 package play.window.swing;
 
 import java.awt.*;
-import java.awt.font.GlyphVector;
 import java.awt.geom.AffineTransform;
 
 import play.math.TextAlign;
@@ -14,18 +13,37 @@ import play.math.Vector;
  */
 public final class TextItem implements Item {
 
-    private final String text;
-    private final float fontSize;
-    private final Transform transform;
-    private final Color fillColor;
-    private final Color outlineColor;
-	private final float thickness;
-    private final Font font;
-    private final Vector anchor;
-	private final float depth;
-	private final float alpha;
-	private final TextAlign.Horizontal hAlign;
-	private final TextAlign.Vertical vAlign;
+    /// Unit size fonts, indexed by style: shared by all the items
+    private static final Font[] FONTS = {
+        new Font(null, Font.PLAIN, 1), new Font(null, Font.BOLD, 1),
+        new Font(null, Font.ITALIC, 1), new Font(null, Font.BOLD | Font.ITALIC, 1)
+    };
+
+    private String text;
+    private float fontSize;
+    private Transform transform;
+    private Color fillColor;
+    private Color outlineColor;
+	private float thickness;
+    private Font font;
+    private Vector anchor;
+	private float depth;
+	private float alpha;
+	private TextAlign.Horizontal hAlign;
+	private TextAlign.Vertical vAlign;
+	/// Cache of the measured texts, shared by the items of a window
+	private final TextLayouts layouts;
+	/// Transforms computed by each render, reused
+	private final AffineTransform textTransform = new AffineTransform();
+	private final AffineTransform viewTransform = new AffineTransform();
+
+    /**
+     * Creates an empty text item, to be set before being drawn
+     * @param layouts (TextLayouts): the text cache of the window, not null
+     */
+    TextItem(TextLayouts layouts) {
+        this.layouts = layouts;
+    }
 
     /**
      * Creates a new text graphics.
@@ -45,20 +63,76 @@ public final class TextItem implements Item {
      */
     public TextItem(String text, float fontSize, Transform transform, Color fillColor, Color outlineColor, float thickness, boolean bold, boolean italics,
 					Vector anchor, TextAlign.Horizontal hAlign, TextAlign.Vertical vAlign, float depth, float alpha) {
+        this.layouts = new TextLayouts();
+        set(text, fontSize, transform, fillColor, outlineColor, thickness, bold, italics, anchor, hAlign, vAlign, depth, alpha);
+    }
+
+    /**
+     * Set all the properties of this item, used to recycle it once rendered
+     * @param text (String): content, not null
+     * @param transform (Transform): affine transform, not null
+     * @param fontSize (float): size
+     * @param fillColor (Color): fill color, may be null
+     * @param outlineColor (Color): outline color, may be null
+     * @param thickness (float): outline thickness
+     * @param bold (boolean): whether to use bold font
+     * @param italics (boolean): whether to use italics font
+     * @param anchor (Vector): text anchor
+	 * @param hAlign (TextAlign.Horizontal): the horizontal alignment
+	 * @param vAlign (TextAlign.Vertical): the vertical alignment
+     * @param alpha (float): transparency, between 0 (invisible) and 1 (opaque)
+     * @param depth (float): render priority, lower-values drawn first
+     */
+    void set(String text, float fontSize, Transform transform, Color fillColor, Color outlineColor, float thickness, boolean bold, boolean italics,
+					Vector anchor, TextAlign.Horizontal hAlign, TextAlign.Vertical vAlign, float depth, float alpha) {
         this.text = text;
         this.fontSize = fontSize;
         this.transform = transform;
         this.fillColor = fillColor;
         this.outlineColor = outlineColor;
         this.thickness = thickness;
-        this.font = new Font(null, Font.PLAIN | (bold ? Font.BOLD : 0) | (italics ? Font.ITALIC : 0), 1);
+        this.font = FONTS[(bold ? Font.BOLD : 0) | (italics ? Font.ITALIC : 0)];
         this.anchor = anchor;
         this.depth = depth;
         this.alpha = alpha;
         this.hAlign = hAlign;
         this.vAlign = vAlign;
     }
-	
+
+    /**
+     * Summarize what this item renders, to detect its changes between frames
+     * @return (long): a key of the text, its style, transform, transparency and depth
+     */
+    long getKey() {
+        long key = DamageTracker.mix(text.hashCode(), Float.floatToIntBits(fontSize));
+        key = DamageTracker.mix(DamageTracker.mix(key, fillColor), outlineColor);
+        key = DamageTracker.mix(key, Float.floatToIntBits(thickness));
+        key = DamageTracker.mix(key, font.getStyle());
+        key = DamageTracker.mix(key, Float.floatToIntBits(anchor.getX()));
+        key = DamageTracker.mix(key, Float.floatToIntBits(anchor.getY()));
+        key = DamageTracker.mix(key, hAlign.ordinal() * 4L + vAlign.ordinal());
+        key = DamageTracker.mix(key, Float.floatToIntBits(alpha));
+        key = DamageTracker.mix(key, Float.floatToIntBits(depth));
+        return DamageTracker.mix(key, transform);
+    }
+
+    /**
+     * Compute conservative bounds of the text in the area, without measuring it:
+     * a character is at most one font size wide, a line at most two high
+     * @param bounds (double[]): receives the minimal x and y, then the maximal x and y, not null
+     */
+    void getBounds(double[] bounds) {
+        float width = (text.length() + 1 + thickness) * fontSize;
+        float height = (2 + thickness) * fontSize;
+        // Box in the text space, flipped as in render
+        float x = anchor.getX() - width;
+        float y = -anchor.getY() - height;
+        float ox = transform.m00 * x + transform.m01 * y + transform.m02 + transform.m01;
+        float oy = transform.m10 * x - transform.m11 * y + transform.m12 + transform.m10;
+        DamageTracker.bounds(ox, oy, 2 * transform.m00 * width, 2 * transform.m10 * width,
+            2 * transform.m01 * height, -2 * transform.m11 * height, bounds);
+    }
+
 	@Override
 	public float getDepth() {
 		return depth;
@@ -78,7 +152,8 @@ public final class TextItem implements Item {
         }
 
 		// Flip vertically (since g2d's text origin is top-left)
-		final AffineTransform a = new AffineTransform(
+		final AffineTransform a = textTransform;
+		a.setTransform(
             transform.m00, transform.m10,
             transform.m01, -transform.m11,
 		    transform.m02 + transform.m01, transform.m12 + transform.m10
@@ -87,7 +162,8 @@ public final class TextItem implements Item {
         // Define intrisic text properties
 		g.setFont(font);
 		g.setColor(fillColor);
-		final AffineTransform ax = (AffineTransform) origTransform.clone();
+		final AffineTransform ax = viewTransform;
+		ax.setTransform(origTransform);
 		a.scale(fontSize, fontSize);
 		ax.concatenate(a);
 		g.setTransform(ax);
@@ -97,8 +173,8 @@ public final class TextItem implements Item {
 		float y = anchor.getY()/fontSize;
 
 
-		final FontMetrics fm = g.getFontMetrics(font);
-		final float width = fm.stringWidth(text);
+		final TextLayouts.Layout layout = layouts.get(g, text, font);
+		final float width = layout.getWidth();
 		if(hAlign == TextAlign.Horizontal.CENTER){
 			x -= (width/2);
 		}else if(hAlign == TextAlign.Horizontal.RIGHT){
@@ -111,17 +187,16 @@ public final class TextItem implements Item {
 			y -= 1;
 		}
 
-		g.drawString(text, x, -y);
-
+		if (!layouts.drawRun(g, layout, x, -y, fillColor, outlineColor, thickness)) {
+			g.drawString(text, x, -y);
 
-        // If requested, also draw outline
-		if (outlineColor != null && thickness > 0.0f) {
-			g.setColor(outlineColor);
-			GlyphVector gv = font.createGlyphVector(g.getFontRenderContext(), text);
-			Shape shape = gv.getOutline();
-			g.setStroke(new BasicStroke(thickness));
-			g.translate(x, -y);
-			g.draw(shape);
+			// If requested, also draw outline
+			if (outlineColor != null && thickness > 0.0f) {
+				g.setColor(outlineColor);
+				g.setStroke(Strokes.get(thickness));
+				g.translate(x, -y);
+				g.draw(layout.getOutline());
+			}
 		}
 
         // Restore old properties
@@ -0,0 +1,296 @@
+package play.window.swing;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of the text layouts, by text and font style: measured width, outline,
+ * and optionally a bitmap of the whole run rendered at the current view scale.
+ * Layouts are measured again when the font render context changes (e.g. on zoom or resize).
+ * The least recently used layouts are released first when there are too many,
+ * and the least recently used runs when their bitmaps take more than a memory budget.
+ * Note: used by the window render thread only, except the run cache switch
+ */
+final class TextLayouts {
+
+    /// Maximal number of cached layouts
+    private static final int MAX_LAYOUTS = 512;
+    /// Memory budget of the cached bitmaps, in bytes, counted as 4 bytes per pixel
+    private static final long MAX_RUN_BYTES = 4L << 20;
+    /// Maximal width and height of a cached bitmap, larger runs are drawn without cache
+    private static final int MAX_RUN_SIZE = 1024;
+    /// Transform to the device pixels
+    private static final AffineTransform DEVICE = new AffineTransform();
+
+    /**
+     * Layout of a text in a unit size font, for a font render context
+     */
+    static final class Layout {
+
+        private final String text;
+        private final Font font;
+        private FontRenderContext context;
+        private float width;
+        private GlyphVector glyphs;
+        private Shape outline;
+        /// Rendered run, null if not cached
+        private Run run;
+
+        private Layout(String text, Font font) {
+            this.text = text;
+            this.font = font;
+        }
+
+        /** @return (float): width of the text, as measured by the font metrics */
+        float getWidth() {
+            return width;
+        }
+
+        /** @return (Shape): outline of the text, with its origin at the base line start, not null */
+        Shape getOutline() {
+            if (outline == null)
+                outline = getGlyphs().getOutline();
+            return outline;
+        }
+
+        /** @return (GlyphVector): glyphs of the text, not null */
+        private GlyphVector getGlyphs() {
+            if (glyphs == null)
+                glyphs = font.createGlyphVector(context, text);
+            return glyphs;
+        }
+    }
+
+    /**
+     * Bitmap of a text run, in device pixels
+     */
+    private static final class Run {
+
+        private final BufferedImage image;
+        /// Memory taken by the image, in bytes
+        private final long bytes;
+        /// Device offset of the image from the text origin
+        private final int offsetX, offsetY;
+        /// Rendered style and scale
+        private final Color fillColor, outlineColor;
+        private final float thickness;
+        private final double scaleX, scaleY;
+
+        private Run(BufferedImage image, int offsetX, int offsetY, Color fillColor, Color outlineColor, float thickness, double scaleX, double scaleY) {
+            this.image = image;
+            this.bytes = 4L * image.getWidth() * image.getHeight();
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.fillColor = fillColor;
+            this.outlineColor = outlineColor;
+            this.thickness = thickness;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+    }
+
+    /// Number of font styles: plain, bold, italic, and bold italic
+    private static final int STYLES = 4;
+    /// Layouts by font style then text, in access order
+    private final List<Map<String, Layout>> layouts = new ArrayList<>(STYLES);
+    /// Layouts with a cached run, in access order, and the memory taken by their bitmaps
+    private final Map<Layout, Boolean> runs = new LinkedHashMap<>(16, 0.75f, true);
+    private long runBytes;
+    private volatile boolean runCacheEnabled = true;
+
+    TextLayouts() {
+        for (int style = 0; style < STYLES; ++style) {
+            layouts.add(new LinkedHashMap<String, Layout>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Layout> eldest) {
+                    if (size() <= MAX_LAYOUTS / STYLES)
+                        return false;
+                    setRun(eldest.getValue(), null);
+                    return true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Enable or disable the bitmaps of the text runs
+     * @param enabled (boolean): true to cache the rendered runs
+     */
+    void setRunCacheEnabled(boolean enabled) {
+        runCacheEnabled = enabled;
+    }
+
+    /** Release all the layouts and their runs */
+    void clear() {
+        for (Map<String, Layout> styled : layouts)
+            styled.clear();
+        runs.clear();
+        runBytes = 0;
+    }
+
+    /**
+     * Replace the cached run of a layout, releasing the least recently used runs if over budget
+     * @param layout (Layout): the layout, not null
+     * @param run (Run): its new run, null to release it
+     */
+    private void setRun(Layout layout, Run run) {
+        if (layout.run != null)
+            runBytes -= layout.run.bytes;
+        layout.run = run;
+        if (run == null) {
+            runs.remove(layout);
+            return;
+        }
+        runBytes += run.bytes;
+        runs.put(layout, Boolean.TRUE);
+
+        // The new run is kept, as it is drawn right away
+        Iterator<Layout> iterator = runs.keySet().iterator();
+        while (runBytes > MAX_RUN_BYTES && iterator.hasNext()) {
+            Layout eldest = iterator.next();
+            if (eldest == layout)
+                continue;
+            runBytes -= eldest.run.bytes;
+            eldest.run = null;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Getter for the layout of a text, measured for the given context
+     * @param g (Graphics2D): target context, with the text transform, not null
+     * @param text (String): the text, not null
+     * @param font (Font): its unit size font, not null
+     * @return (Layout): the layout, not null
+     */
+    Layout get(Graphics2D g, String text, Font font) {
+        Map<String, Layout> styled = layouts.get(font.getStyle());
+        Layout layout = styled.get(text);
+        if (layout == null) {
+            layout = new Layout(text, font);
+            styled.put(text, layout);
+        }
+        final FontRenderContext context = g.getFontRenderContext();
+        if (!context.equals(layout.context)) {
+            final FontMetrics fm = g.getFontMetrics(font);
+            layout.context = context;
+            layout.width = fm.stringWidth(text);
+            layout.glyphs = null;
+            layout.outline = null;
+            setRun(layout, null);
+        }
+        return layout;
+    }
+
+    /**
+     * Draw a text run from its cached bitmap, if possible
+     * @param g (Graphics2D): target context, with the text transform, not null
+     * @param layout (Layout): the layout of the text, not null
+     * @param x (float): x coordinate of the text origin, in the text space
+     * @param y (float): y coordinate of the text origin, in the text space
+     * @param fillColor (Color): fill color, may be null
+     * @param outlineColor (Color): outline color, may be null
+     * @param thickness (float): outline thickness
+     * @return (boolean): true if the run was drawn, false if it must be drawn without cache
+     */
+    boolean drawRun(Graphics2D g, Layout layout, float x, float y, Color fillColor, Color outlineColor, float thickness) {
+        // Sub-pixel text needs the destination pixels, which a translucent bitmap does not have
+        if (!runCacheEnabled || isLcd(g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING)))
+            return false;
+        final AffineTransform transform = g.getTransform();
+        final double scaleX = transform.getScaleX();
+        final double scaleY = transform.getScaleY();
+        if (transform.getShearX() != 0.0 || transform.getShearY() != 0.0 || scaleX <= 0.0 || scaleY <= 0.0)
+            return false;
+
+        Run run = layout.run;
+        if (run == null || run.scaleX != scaleX || run.scaleY != scaleY || run.thickness != thickness
+                || !Objects.equals(run.fillColor, fillColor) || !Objects.equals(run.outlineColor, outlineColor)) {
+            run = render(g, layout, fillColor, outlineColor, thickness, scaleX, scaleY);
+            setRun(layout, run);
+            if (run == null)
+                return false;
+        } else {
+            // Most recently used
+            runs.get(layout);
+        }
+
+        // Copy the run at the device position of the text origin
+        double originX = scaleX * x + transform.getTranslateX();
+        double originY = scaleY * y + transform.getTranslateY();
+        g.setTransform(DEVICE);
+        g.drawImage(run.image, (int) Math.round(originX) + run.offsetX, (int) Math.round(originY) + run.offsetY, null);
+        g.setTransform(transform);
+        return true;
+    }
+
+    /**
+     * Indicate if a text anti-aliasing hint asks for sub-pixel (LCD) text
+     * @param hint (Object): value of the hint, may be null
+     * @return (boolean): true for any LCD value
+     */
+    private static boolean isLcd(Object hint) {
+        return hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HBGR
+            || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VRGB || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VBGR;
+    }
+
+    /**
+     * Render a text run into a new bitmap
+     * @param g (Graphics2D): target context, whose hints are used, not null
+     * @param layout (Layout): the layout of the text, not null
+     * @param fillColor (Color): fill color, may be null
+     * @param outlineColor (Color): outline color, may be null
+     * @param thickness (float): outline thickness
+     * @param scaleX (double): horizontal device scale
+     * @param scaleY (double): vertical device scale
+     * @return (Run): the rendered run, null if too large
+     */
+    private Run render(Graphics2D g, Layout layout, Color fillColor, Color outlineColor, float thickness, double scaleX, double scaleY) {
+        Rectangle2D bounds = layout.getGlyphs().getVisualBounds();
+        double margin = (outlineColor != null && thickness > 0.0f) ? thickness : 0.0;
+        int left = (int) Math.floor((bounds.getMinX() - margin) * scaleX) - 1;
+        int top = (int) Math.floor((bounds.getMinY() - margin) * scaleY) - 1;
+        int right = (int) Math.ceil((bounds.getMaxX() + margin) * scaleX) + 1;
+        int bottom = (int) Math.ceil((bounds.getMaxY() + margin) * scaleY) + 1;
+        int width = right - left;
+        int height = bottom - top;
+        if (width <= 0 || height <= 0 || width > MAX_RUN_SIZE || height > MAX_RUN_SIZE)
+            return null;
+
+        BufferedImage image = g.getDeviceConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHints(g.getRenderingHints());
+        graphics.setComposite(AlphaComposite.SrcOver);
+        graphics.translate(-left, -top);
+        graphics.scale(scaleX, scaleY);
+        graphics.setFont(layout.font);
+        if (fillColor != null) {
+            graphics.setColor(fillColor);
+            graphics.drawString(layout.text, 0.0f, 0.0f);
+        }
+        if (outlineColor != null && thickness > 0.0f) {
+            graphics.setColor(outlineColor);
+            graphics.setStroke(Strokes.get(thickness));
+            graphics.draw(layout.getOutline());
+        }
+        graphics.dispose();
+        return new Run(image, left, top, fillColor, outlineColor, thickness, scaleX, scaleY);
+    }
+}
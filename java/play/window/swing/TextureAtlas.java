@@ -0,0 +1,205 @@
+package play.window.swing;
+
+import play.io.FileSystem;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Pages of packed sprites, built once when the window is created.
+ * The sprites to pack are listed by a manifest, one file name per line, as given to getImage.
+ * Small sprites are then regions of a few large images instead of one image each.
+ * The manifest can be regenerated from a resource folder with the main method
+ */
+final class TextureAtlas {
+
+    /// Name of the manifest listing the sprites to pack
+    static final String MANIFEST = "images/sprites/atlas.txt";
+    /// Width and height of a page, and maximal size of a packed sprite
+    private static final int PAGE_SIZE = 1024;
+    private static final int MAX_SPRITE_SIZE = 256;
+    /// Transparent gap around each sprite, avoiding bleeding when scaled
+    private static final int PADDING = 1;
+
+    /**
+     * Location of a packed sprite
+     */
+    static final class Region {
+
+        final BufferedImage page;
+        final int x, y, width, height;
+
+        private Region(BufferedImage page, int x, int y, int width, int height) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /// Packed sprites by name, and the pages containing them
+    private final Map<String, Region> regions = new HashMap<>();
+    private final List<BufferedImage> pages = new ArrayList<>();
+    /// Shelf packing state: position in the current page, and height of the current shelf
+    private int shelfX, shelfY, shelfHeight;
+
+    /**
+     * Pack the sprites listed by the manifest of the given file system, if any
+     * @param fileSystem (FileSystem): the file system containing the sprites, not null
+     * @param assets (AssetPack): precompiled sprites, read instead of their files, not null
+     * @return (TextureAtlas): the atlas, empty if there is no manifest, not null
+     */
+    static TextureAtlas load(FileSystem fileSystem, AssetPack assets) {
+        TextureAtlas atlas = new TextureAtlas();
+        List<String> names = new ArrayList<>();
+        try (InputStream input = fileSystem.read(MANIFEST);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#"))
+                    names.add(line);
+            }
+        } catch (IOException e) {
+            // No manifest: nothing is packed
+            return atlas;
+        }
+
+        // Decode the sprites, then pack the tallest first for fuller shelves
+        Map<String, BufferedImage> sprites = new HashMap<>();
+        for (String name : names) {
+            BufferedImage packed = assets.read(name);
+            if (packed != null) {
+                if (packed.getWidth() <= MAX_SPRITE_SIZE && packed.getHeight() <= MAX_SPRITE_SIZE)
+                    sprites.put(name, packed);
+                continue;
+            }
+            try (InputStream input = fileSystem.read(name)) {
+                BufferedImage sprite = ImageIO.read(input);
+                if (sprite != null && sprite.getWidth() <= MAX_SPRITE_SIZE && sprite.getHeight() <= MAX_SPRITE_SIZE)
+                    sprites.put(name, sprite);
+            } catch (IOException e) {
+                System.out.println("File :"+ name +" not found, not packed");
+            }
+        }
+        names.removeIf(name -> !sprites.containsKey(name));
+        names.sort((a, b) -> sprites.get(b).getHeight() - sprites.get(a).getHeight());
+        Graphics2D graphics = null;
+        for (String name : names) {
+            BufferedImage sprite = sprites.get(name);
+            int pageCount = atlas.pages.size();
+            Region region = atlas.allocate(sprite.getWidth(), sprite.getHeight());
+            if (atlas.pages.size() != pageCount || graphics == null) {
+                if (graphics != null)
+                    graphics.dispose();
+                graphics = region.page.createGraphics();
+            }
+            graphics.drawImage(sprite, region.x, region.y, null);
+            atlas.regions.put(name, region);
+        }
+        if (graphics != null)
+            graphics.dispose();
+        return atlas;
+    }
+
+    /**
+     * Reserve a place for a sprite in the current page, starting a new shelf or page when full
+     * @param width (int): sprite width, at most MAX_SPRITE_SIZE
+     * @param height (int): sprite height, at most MAX_SPRITE_SIZE
+     * @return (Region): the reserved region, not null
+     */
+    private Region allocate(int width, int height) {
+        if (!pages.isEmpty() && shelfX + width + PADDING > PAGE_SIZE) {
+            shelfX = 0;
+            shelfY += shelfHeight;
+            shelfHeight = 0;
+        }
+        if (pages.isEmpty() || shelfY + height + PADDING > PAGE_SIZE) {
+            final GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+            pages.add(config.createCompatibleImage(PAGE_SIZE, PAGE_SIZE, Transparency.TRANSLUCENT));
+            shelfX = 0;
+            shelfY = 0;
+            shelfHeight = 0;
+        }
+        Region region = new Region(pages.get(pages.size() - 1), shelfX + PADDING, shelfY + PADDING, width, height);
+        shelfX += width + PADDING;
+        shelfHeight = Math.max(shelfHeight, height + PADDING);
+        return region;
+    }
+
+    /**
+     * Getter for the region of a packed sprite
+     * @param name (String): full name of the sprite, not null
+     * @return (Region): its region, null if not packed
+     */
+    Region get(String name) {
+        return regions.get(name);
+    }
+
+    /** @return (int): number of packed sprites */
+    int getSpriteCount() {
+        return regions.size();
+    }
+
+    /** @return (int): number of pages */
+    int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Write the manifest listing all the small enough sprites of a resource folder
+     * @param args (String[]): the resource folder, "res" by default
+     * @throws IOException if the manifest cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        File root = new File(args.length > 0 ? args[0] : "res");
+        File folder = new File(root, MANIFEST).getParentFile();
+        List<String> names = new ArrayList<>();
+        collect(root, folder, names);
+        names.sort(null);
+        try (PrintWriter writer = new PrintWriter(new File(root, MANIFEST), "UTF-8")) {
+            writer.println("# Sprites packed into texture atlas pages, generated by " + TextureAtlas.class.getName());
+            for (String name : names)
+                writer.println(name);
+        }
+        System.out.println(names.size() + " sprites listed in " + MANIFEST);
+    }
+
+    /**
+     * Add the names of the small enough images of a folder and its sub folders
+     * @param root (File): the resource folder, names are relative to it, not null
+     * @param folder (File): the folder to look into, not null
+     * @param names (List of String): the names found, not null
+     * @throws IOException if an image cannot be read
+     */
+    private static void collect(File root, File folder, List<String> names) throws IOException {
+        File[] files = folder.listFiles();
+        if (files == null)
+            return;
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collect(root, file, names);
+            } else if (file.getName().endsWith(".png")) {
+                BufferedImage image = ImageIO.read(file);
+                if (image != null && image.getWidth() <= MAX_SPRITE_SIZE && image.getHeight() <= MAX_SPRITE_SIZE)
+                    names.add(root.toURI().relativize(file.toURI()).getPath());
+            }
+        }
+    }
+}